@@ -0,0 +1,54 @@
+package business;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pomocné výpočty desky – pozice polí a rozmístění figurek.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    private GameState state;
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        state = new GameState(List.of("A", "B", "C", "D"));
+        for (Player p : state.getPlayers()) {
+            p.getFigure(); // figurky vytvoříme předem, měří se jen přepočet pozic
+        }
+    }
+
+    @Benchmark
+    public double[] getTilePosition() {
+        index = index == state.getBoardSize() - 1 ? 0 : index + 1;
+        return BoardUtils.getTilePosition(index, state.getBoardSize());
+    }
+
+    @Benchmark
+    public void positionPlayers() {
+        BoardUtils.positionPlayers(state.getPlayers(), state);
+    }
+
+    @Benchmark
+    public List<Tile> generateTiles() {
+        return BoardUtils.generateTiles();
+    }
+}
@@ -0,0 +1,48 @@
+package business;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Propustnost celých her – jedna hra přes TurnEngine a dávka her přes BatchSimulator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    private static final List<String> NAMES = List.of("A", "B", "C", "D");
+    private static final int BATCH = 1024;
+
+    private final MonteCarloSimulator simulator = new MonteCarloSimulator(NAMES,
+            Collections.nCopies(NAMES.size(), DecisionPolicy.ALWAYS_BUY), MonteCarloSimulator.DEFAULT_MAX_TURNS);
+    private long gameIndex = 0;
+
+    @Benchmark
+    public GameResult turnEngineGame() {
+        return simulator.playGame(42, gameIndex++);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int batchSimulatorGames() {
+        BatchSimulator batch = new BatchSimulator(BATCH, NAMES.size(), gameIndex++);
+        batch.run(MonteCarloSimulator.DEFAULT_MAX_TURNS);
+        return batch.unfinishedGames();
+    }
+}
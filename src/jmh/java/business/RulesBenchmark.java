@@ -0,0 +1,72 @@
+package business;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Horká volání pravidel: střídání hráčů, aktivní hráči, karty, ceny polí a kopie stavu pro rollouty.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RulesBenchmark {
+
+    private GameState state;
+    private Tile property;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        state = new GameState(List.of("A", "B", "C", "D"), 42);
+        property = state.getTileAt(1);
+        property.setOwner(state.getPlayers().get(0));
+        property.upgrade();
+    }
+
+    @Benchmark
+    public Player nextPlayer() {
+        state.nextPlayer();
+        return state.getCurrentPlayer();
+    }
+
+    @Benchmark
+    public List<Player> getActivePlayers() {
+        return state.getActivePlayers();
+    }
+
+    @Benchmark
+    public ChanceCard drawAndApplyCard() {
+        // stav se obnovuje před každou iterací (Level.Iteration)
+        ChanceCard card = state.getDeck().draw();
+        card.apply(state.getPlayers().get(0), state);
+        return card;
+    }
+
+    @Benchmark
+    public void rentAndUpgradeCost(Blackhole bh) {
+        bh.consume(property.getRent());
+        bh.consume(property.getUpgradeCost());
+    }
+
+    @Benchmark
+    public GameState copyState() {
+        // jedna kopie = jeden rollout MctsPolicy
+        return state.copy(new SplittableRandom(7));
+    }
+}
@@ -0,0 +1,447 @@
+package business;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Dávkový simulátor – tisíce nezávislých her posouvá v lockstepu o jeden tah.
+ * Stav všech her je v primitivních polích indexovaných číslem hry
+ * (pozice a peníze jako [hra * hráči + hráč], vlastníci polí jako [hra * pole desky + pole]),
+ * takže krok nealokuje a nehoní ukazatele přes Player/Tile.
+ *
+ * Pravidla odpovídají TurnEngine (Player.move, Tile.getRent včetně dvojnásobku za celou
+ * barevnou skupinu, GameRules.applyTile, vrácení polí bance při bankrotu), deska a karty
+ * jsou z RuleSet.current() – efekty polí jsou předpočítané do polí podle indexu pole,
+ * všichni hráči se rozhodují jako DecisionPolicy.ALWAYS_BUY. Každá hra má vlastní
+ * stav generátoru, který dává přesně stejnou posloupnost jako SplittableRandom
+ * z GameState, a vlastní balíček karet jako CardDeck – hra g je tedy shodná
+ * s MonteCarloSimulator.playGame(seed, g).
+ */
+public class BatchSimulator {
+
+    private static final int MAX_BOARD = Long.SIZE; // pole hráče jsou bity jednoho long
+    private static final int JAIL_TURNS = Player.JAIL_TURNS;
+    private static final int START_MONEY = Player.START_MONEY;
+    private static final int MAX_LEVEL = 3;
+    private static final int BLOCK = 1024;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int games;
+    private final int players;
+
+    // deska (společná pro všechny hry)
+    private final int board;
+    private final int jailTile;
+    private final boolean[] propertyTile;
+    private final RuleSet.TileEffect[] tileEffect;
+    private final int[] tileAmount;
+    private final int[] price;
+    private final int[] baseRent;
+    private final int[] tileGroup;
+    private final long[] groupMask;
+
+    // karty (sada z pravidel rozložená do polí)
+    private final ChanceCard.Effect[] cardEffect;
+    private final int[] cardAmount;
+    private final int[] cardTarget;
+    private final int cards;
+
+    // stav her
+    private final long[] rng;
+    private final int[] roll;
+    private final int[] current;
+    private final int[] active;
+    private final int[] turns;
+    private final int[] winner;
+    private final int[] deck;  // [hra * cards + k] – pořadí balíčku
+    private final int[] drawn; // kolik karet z balíčku už bylo taženo
+
+    // stav hráčů [hra * players + hráč]
+    private final int[] position;
+    private final int[] money;
+    private final int[] jailTurns;
+    private final boolean[] bankrupt;
+    private final long[] ownedMask; // pole hráče jako bity (jako OwnershipIndex)
+
+    // stav polí [hra * board + pole]
+    private final int[] owner;
+    private final int[] level;
+
+    public BatchSimulator(int games, int players, long seed) {
+        this.games = games;
+        this.players = players;
+
+        RuleSet rules = RuleSet.current();
+        board = rules.getBoardSize();
+        if (board > MAX_BOARD) {
+            throw new IllegalArgumentException("Dávkový simulátor zvládne desku nejvýš " + MAX_BOARD + " polí: " + board);
+        }
+        jailTile = BoardUtils.jailTile(board);
+        propertyTile = new boolean[board];
+        tileEffect = new RuleSet.TileEffect[board];
+        tileAmount = new int[board];
+        price = new int[board];
+        baseRent = new int[board];
+        tileGroup = new int[board];
+        List<Tile> tiles = rules.generateTiles(board);
+        int groups = 0;
+        for (Tile t : tiles) {
+            int index = t.getIndex();
+            propertyTile[index] = t.getType() == TileType.NEMOVITOST;
+            tileEffect[index] = rules.getEffect(t.getType());
+            tileAmount[index] = rules.getAmount(t.getType());
+            price[index] = t.getPrice();
+            baseRent[index] = t.getRent();
+            tileGroup[index] = t.getGroup();
+            groups = Math.max(groups, t.getGroup() + 1);
+        }
+        groupMask = new long[groups];
+        for (Tile t : tiles) {
+            if (t.getGroup() >= 0) {
+                groupMask[t.getGroup()] |= 1L << t.getIndex();
+            }
+        }
+
+        List<ChanceCard> cardList = rules.getCards();
+        cards = cardList.size();
+        cardEffect = new ChanceCard.Effect[cards];
+        cardAmount = new int[cards];
+        cardTarget = new int[cards];
+        for (int k = 0; k < cards; k++) {
+            cardEffect[k] = cardList.get(k).getEffect();
+            cardAmount[k] = cardList.get(k).getAmount();
+            cardTarget[k] = cardList.get(k).getTarget();
+        }
+
+        rng = new long[games];
+        roll = new int[games];
+        current = new int[games];
+        active = new int[games];
+        turns = new int[games];
+        winner = new int[games];
+        deck = new int[games * cards];
+        drawn = new int[games];
+        position = new int[games * players];
+        money = new int[games * players];
+        jailTurns = new int[games * players];
+        bankrupt = new boolean[games * players];
+        ownedMask = new long[games * players];
+        owner = new int[games * board];
+        level = new int[games * board];
+
+        Arrays.fill(active, players);
+        Arrays.fill(winner, -1);
+        Arrays.fill(money, START_MONEY);
+        Arrays.fill(owner, -1);
+
+        for (int g = 0; g < games; g++) {
+            rng[g] = MonteCarloSimulator.gameSeed(seed, g);
+            for (int k = 0; k < cards; k++) {
+                deck[g * cards + k] = k;
+            }
+            shuffle(g); // jako konstruktor CardDeck
+        }
+    }
+
+    /**
+     * Posune všechny rozehrané hry o jeden tah.
+     */
+    public void step() {
+        rollAll(0, games);
+        for (int g = 0; g < games; g++) {
+            if (active[g] > 1) {
+                playTurn(g);
+            }
+        }
+    }
+
+    /**
+     * Hraje, dokud všechny hry neskončí nebo nedojdou na limit tahů.
+     * Hry se zpracovávají po blocích, které se vejdou do cache, a bloky běží paralelně.
+     */
+    public void run(int maxTurns) {
+        int blocks = (games + BLOCK - 1) / BLOCK;
+        IntStream.range(0, blocks).parallel().forEach(b ->
+                runBlock(b * BLOCK, Math.min(games, (b + 1) * BLOCK), maxTurns));
+    }
+
+    private void runBlock(int from, int to, int maxTurns) {
+        int[] live = new int[to - from];
+        int liveCount = 0;
+        for (int g = from; g < to; g++) {
+            if (active[g] > 1) live[liveCount++] = g;
+        }
+        for (int t = 0; t < maxTurns && liveCount > 0; t++) {
+            rollAll(from, to);
+            int kept = 0;
+            for (int k = 0; k < liveCount; k++) {
+                int g = live[k];
+                playTurn(g);
+                if (active[g] > 1) live[kept++] = g;
+            }
+            liveCount = kept;
+        }
+    }
+
+    public int unfinishedGames() {
+        int count = 0;
+        for (int g = 0; g < games; g++) {
+            if (active[g] > 1) count++;
+        }
+        return count;
+    }
+
+    public int getWinner(int game) {
+        return winner[game];
+    }
+
+    public int getTurns(int game) {
+        return turns[game];
+    }
+
+    public int getMoney(int game, int player) {
+        return money[game * players + player];
+    }
+
+    public int getPosition(int game, int player) {
+        return position[game * players + player];
+    }
+
+    public int getOwner(int game, int tile) {
+        return owner[game * board + tile];
+    }
+
+    public int getLevel(int game, int tile) {
+        return level[game * board + tile];
+    }
+
+    public int getJailTurns(int game, int player) {
+        return jailTurns[game * players + player];
+    }
+
+    public boolean isBankrupt(int game, int player) {
+        return bankrupt[game * players + player];
+    }
+
+    public int getCurrent(int game) {
+        return current[game];
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getBoardSize() {
+        return board;
+    }
+
+    /**
+     * StateHash hry spočítaný z polí simulátoru – stejná hodnota jako GameState.getHash()
+     * u stejné hry v TurnEngine (viz DesyncChecker).
+     */
+    public long hash(int game) {
+        long h = 0;
+        for (int p = 0; p < players; p++) {
+            int i = game * players + p;
+            h += StateHash.playerKey(p, position[i], money[i], jailTurns[i], bankrupt[i]);
+        }
+        for (int t = 0; t < board; t++) {
+            h += StateHash.tileKey(t, owner[game * board + t], level[game * board + t]);
+        }
+        return h + StateHash.currentKey(current[game]);
+    }
+
+    // Hod kostkou pro celý blok her najednou (hráč ve vězení nehází)
+    private void rollAll(int from, int to) {
+        for (int g = from; g < to; g++) {
+            if (jailTurns[g * players + current[g]] == 0) {
+                roll[g] = nextInt(g, GameRules.DICE_SIDES) + 1;
+            }
+        }
+    }
+
+    private void playTurn(int g) {
+        turns[g]++;
+        int p = current[g];
+        int i = g * players + p;
+
+        if (jailTurns[i] > 0) {
+            jailTurns[i]--;
+        } else {
+            int pos = position[i] - roll[g];
+            if (pos < 0) pos += board;
+            position[i] = pos;
+            land(g, p, pos);
+        }
+        if (active[g] > 1) {
+            advance(g);
+        } else {
+            finish(g);
+        }
+    }
+
+    private void land(int g, int p, int pos) {
+        if (propertyTile[pos]) {
+            property(g, p, pos);
+            return;
+        }
+        int i = g * players + p;
+        switch (tileEffect[pos]) {
+            case PAY -> pay(g, p, tileAmount[pos]);
+            case GAIN -> money[i] += tileAmount[pos];
+            case JAIL -> jail(i);
+            case CARD -> card(g, p);
+            case NONE -> {
+            }
+        }
+    }
+
+    private void property(int g, int p, int pos) {
+        int i = g * players + p;
+        int t = g * board + pos;
+        int o = owner[t];
+        if (o < 0) {
+            if (money[i] >= price[pos]) {
+                owner[t] = p;
+                ownedMask[i] |= 1L << pos;
+                pay(g, p, price[pos]);
+            }
+        } else if (o == p) {
+            int cost = price[pos] / 2 + level[t] * 50;
+            if (level[t] < MAX_LEVEL && money[i] >= cost) {
+                pay(g, p, cost);
+                level[t]++;
+            }
+        } else if (!bankrupt[g * players + o]) {
+            int rent = baseRent[pos] + level[t] * 50;
+            int group = tileGroup[pos];
+            if (level[t] == 0 && group >= 0 && (ownedMask[g * players + o] & groupMask[group]) == groupMask[group]) {
+                rent *= OwnershipIndex.GROUP_RENT_MULTIPLIER;
+            }
+            pay(g, p, rent);
+            money[g * players + o] += rent;
+        }
+    }
+
+    private void card(int g, int p) {
+        int i = g * players + p;
+        if (drawn[g] == cards) {
+            shuffle(g);
+        }
+        int c = deck[g * cards + drawn[g]++];
+
+        switch (cardEffect[c]) {
+            case PAY -> pay(g, p, cardAmount[c]);
+            case GAIN -> money[i] += cardAmount[c];
+            case GO_TO_JAIL -> jail(i);
+            case MOVE_TO -> position[i] = cardTarget[c] % board;
+            case COLLECT_FROM_ALL -> {
+                for (int o = 0; o < players; o++) {
+                    if (o != p && !bankrupt[g * players + o]) {
+                        pay(g, o, cardAmount[c]);
+                        money[i] += cardAmount[c];
+                    }
+                }
+            }
+        }
+    }
+
+    // Fisher–Yates stejně jako CardDeck.shuffle
+    private void shuffle(int g) {
+        int base = g * cards;
+        for (int k = cards - 1; k > 0; k--) {
+            int j = nextInt(g, k + 1);
+            int tmp = deck[base + k];
+            deck[base + k] = deck[base + j];
+            deck[base + j] = tmp;
+        }
+        drawn[g] = 0;
+    }
+
+    private void pay(int g, int p, int amount) {
+        int i = g * players + p;
+        money[i] -= amount;
+        if (money[i] < 0 && !bankrupt[i]) {
+            bankrupt[i] = true;
+            active[g]--;
+            // pole se vrací bance (OwnershipIndex.release)
+            for (long mask = ownedMask[i]; mask != 0; mask &= mask - 1) {
+                int t = g * board + Long.numberOfTrailingZeros(mask);
+                owner[t] = -1;
+                level[t] = 0;
+            }
+            ownedMask[i] = 0;
+        }
+    }
+
+    private void jail(int i) {
+        jailTurns[i] = JAIL_TURNS;
+        position[i] = jailTile;
+    }
+
+    private void advance(int g) {
+        int base = g * players;
+        int p = current[g];
+        do {
+            p = p + 1 == players ? 0 : p + 1;
+        } while (bankrupt[base + p]);
+        current[g] = p;
+    }
+
+    private void finish(int g) {
+        int base = g * players;
+        for (int p = 0; p < players; p++) {
+            if (!bankrupt[base + p]) {
+                winner[g] = p;
+                return;
+            }
+        }
+    }
+
+    // SplittableRandom.nextInt(bound) nad stavem hry g (seed += gamma, mix32, zamítání přečnívajících hodnot)
+    private int nextInt(int g, int bound) {
+        int m = bound - 1;
+        int r = nextInt(g);
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt(g) >>> 1) {
+            // zamítnutá hodnota – táhne se znovu
+        }
+        return r;
+    }
+
+    private int nextInt(int g) {
+        long z = rng[g] += GOLDEN_GAMMA;
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    /**
+     * Spuštění z příkazové řádky: [počet her] [počet hráčů] [seed]
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        long start = System.nanoTime();
+        BatchSimulator batch = new BatchSimulator(games, players, seed);
+        batch.run(MonteCarloSimulator.DEFAULT_MAX_TURNS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] wins = new long[players];
+        long totalTurns = 0;
+        for (int g = 0; g < games; g++) {
+            if (batch.getWinner(g) >= 0) wins[batch.getWinner(g)]++;
+            totalTurns += batch.getTurns(g);
+        }
+        for (int p = 0; p < players; p++) {
+            System.out.printf("Hráč %d: %d výher%n", p + 1, wins[p]);
+        }
+        System.out.printf("Nedohráno: %d, průměrně %.1f tahů%n", batch.unfinishedGames(), (double) totalTurns / games);
+        System.out.printf("%d her za %.2f s (%.0f her/min)%n", games, seconds, games / seconds * 60);
+    }
+}
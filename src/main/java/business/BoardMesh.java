@@ -0,0 +1,327 @@
+package business;
+
+import javafx.geometry.Rectangle2D;
+import javafx.geometry.VPos;
+import javafx.scene.Group;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Deska jako několik TriangleMeshů (bloků po CHUNK_TILES polích) – místo Boxu a čtyř
+ * okrajových Boxů na každé pole. Barvy polí a okrajů jsou buňky atlasu (textury),
+ * na které ukazují texturové souřadnice, takže blok má jeden uzel a jeden materiál.
+ *
+ * Názvy polí jsou v atlasu předem vykreslené (jeden snapshot na blok) a horní stěna pole
+ * ukazuje na buňku se svým názvem – žádné Text uzly ve 3D scéně.
+ *
+ * Každý blok má dvě úrovně detailu: plnou (okraje, názvy) a hrubou (jeden kvádr na pole
+ * v barvě pole, bez textury názvů) pro vzdálené části velké desky. Kterou ukázat a zda blok
+ * vůbec kreslit, rozhoduje BoardView podle kamery.
+ */
+public final class BoardMesh {
+
+    public static final int CHUNK_TILES = 64; // polí v bloku; atlas názvů bloku má 1024 x 1024 px
+
+    private static final int CELL = 4; // velikost buňky barvy v atlasu v pixelech
+    private static final int LABEL_CELL = 128; // buňka s názvem pole
+    private static final int LABEL_COLUMNS = 8;
+    private static final int LABEL_PADDING = 6;
+
+    // Směr čtení textu na horní stěně podle strany desky (u = řádek, v = dolů),
+    // stejné natočení jako měly popisky v UI (Rotate Y 0 / -90 / 180 / 90)
+    private static final int[][] LABEL_U = {{1, 0}, {0, 1}, {-1, 0}, {0, -1}};
+    private static final int[][] LABEL_V = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
+    private static final double BORDER = 1.0;
+
+    // Rohy kvádru: bit 0 = +x, bit 1 = +y, bit 2 = +z
+    // Trojúhelníky jsou orientované tak, aby (b - a) x (c - a) mířilo ven z kvádru.
+    private static final int[][] BOX_FACES = {
+            {1, 3, 7}, {1, 7, 5}, // +X
+            {0, 4, 6}, {0, 6, 2}, // -X
+            {2, 6, 7}, {2, 7, 3}, // +Y (spodek)
+            {0, 1, 5}, {0, 5, 4}, // -Y (vršek)
+            {4, 5, 7}, {4, 7, 6}, // +Z
+            {0, 3, 1}, {0, 2, 3}  // -Z
+    };
+
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    private BoardMesh() {
+    }
+
+    /**
+     * Jeden blok desky: souvislý úsek polí, jeho obalová koule (pro ořez kamerou)
+     * a data obou úrovní detailu.
+     */
+    public static final class Chunk {
+        private final int firstTile;
+        private final int tileCount;
+        private final double centerX;
+        private final double centerZ;
+        private final double radius;
+        private final MeshData detail;
+        private final MeshData coarse;
+
+        private Chunk(List<Tile> tiles, int boardSize, Function<Tile, Color> tileColor) {
+            this.firstTile = tiles.get(0).getIndex();
+            this.tileCount = tiles.size();
+            this.detail = new MeshData();
+            this.coarse = new MeshData();
+            double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE;
+            double minZ = Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+            for (Tile tile : tiles) {
+                double[] pos = BoardUtils.getTilePosition(tile.getIndex(), boardSize);
+                minX = Math.min(minX, pos[0]);
+                maxX = Math.max(maxX, pos[0]);
+                minZ = Math.min(minZ, pos[1]);
+                maxZ = Math.max(maxZ, pos[1]);
+                addTile(tile, pos, tile.getIndex() / BoardUtils.sideLength(boardSize), tileColor.apply(tile));
+            }
+            detail.build();
+            coarse.build();
+            double half = BoardUtils.TILE_SIZE / 2;
+            this.centerX = (minX + maxX) / 2;
+            this.centerZ = (minZ + maxZ) / 2;
+            this.radius = Math.sqrt(Math.pow((maxX - minX) / 2 + half, 2)
+                    + Math.pow((maxZ - minZ) / 2 + half, 2) + BoardUtils.TILE_HEIGHT * BoardUtils.TILE_HEIGHT);
+        }
+
+        private void addTile(Tile tile, double[] pos, int side, Color color) {
+            double x = pos[0];
+            double z = pos[1];
+            double size = BoardUtils.TILE_SIZE;
+            double h = BoardUtils.TILE_HEIGHT;
+            double y = -h / 2;
+
+            detail.labels.add(tile.getName());
+            detail.labelColors.add(color);
+            detail.addBox(x, y, z, size * 0.96, h, size * 0.96, color, detail.labels.size() - 1, side);
+
+            // okraje
+            detail.addBox(x, y, z - size / 2 + BORDER / 2, size, h, BORDER, Color.BLACK, -1, 0);
+            detail.addBox(x, y, z + size / 2 - BORDER / 2, size, h, BORDER, Color.BLACK, -1, 0);
+            detail.addBox(x - size / 2 + BORDER / 2, y, z, BORDER, h, size, Color.BLACK, -1, 0);
+            detail.addBox(x + size / 2 - BORDER / 2, y, z, BORDER, h, size, Color.BLACK, -1, 0);
+
+            // hrubá úroveň: jen pole v jeho barvě, mezera místo okraje
+            coarse.addBox(x, y, z, size * 0.96, h, size * 0.96, color, -1, 0);
+        }
+
+        public int getFirstTile() {
+            return firstTile;
+        }
+
+        public int getTileCount() {
+            return tileCount;
+        }
+
+        public double getCenterX() {
+            return centerX;
+        }
+
+        public double getCenterZ() {
+            return centerZ;
+        }
+
+        /** Poloměr obalové koule bloku (střed ve výšce y = 0). */
+        public double getRadius() {
+            return radius;
+        }
+
+        /** Plný detail s názvy – vykreslí atlas, volat na FX vlákně. */
+        public MeshView createDetailView() {
+            return detail.toMeshView();
+        }
+
+        /** Hrubý detail pro vzdálené bloky – volat na FX vlákně. */
+        public MeshView createCoarseView() {
+            return coarse.toMeshView();
+        }
+    }
+
+    /**
+     * Celá deska jako skupina bloků v plném detailu (bez ořezu – pro malé desky a náhledy).
+     */
+    public static Group create(List<Tile> tiles, Function<Tile, Color> tileColor) {
+        Group group = new Group();
+        for (Chunk chunk : prepare(tiles, tileColor).getChunks()) {
+            group.getChildren().add(chunk.createDetailView());
+        }
+        return group;
+    }
+
+    /**
+     * Spočítá data sítí (body, stěny, paletu) bez jediného JavaFX uzlu – smí běžet
+     * na pozadí, zatímco FX vlákno už kreslí úvodní obrazovku.
+     */
+    public static BoardMesh prepare(List<Tile> tiles, Function<Tile, Color> tileColor) {
+        BoardMesh board = new BoardMesh();
+        for (int from = 0; from < tiles.size(); from += CHUNK_TILES) {
+            List<Tile> part = tiles.subList(from, Math.min(tiles.size(), from + CHUNK_TILES));
+            board.chunks.add(new Chunk(part, tiles.size(), tileColor));
+        }
+        return board;
+    }
+
+    public List<Chunk> getChunks() {
+        return chunks;
+    }
+
+    // Síť jedné úrovně detailu jednoho bloku
+    private static final class MeshData {
+        private final Map<Color, Integer> palette = new LinkedHashMap<>();
+        private final List<float[]> boxes = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+        private final List<Color> labelColors = new ArrayList<>();
+        private float[] points;
+        private float[] texCoords;
+        private int[] faces;
+        private int[] smoothing;
+
+        /**
+         * Z připravených dat postaví uzel s materiálem (volat na FX vlákně).
+         */
+        MeshView toMeshView() {
+            TriangleMesh mesh = new TriangleMesh();
+            mesh.getPoints().setAll(points);
+            mesh.getTexCoords().setAll(texCoords);
+            mesh.getFaces().setAll(faces);
+            mesh.getFaceSmoothingGroups().setAll(smoothing);
+            MeshView view = new MeshView(mesh);
+            PhongMaterial material = new PhongMaterial(Color.WHITE);
+            material.setDiffuseMap(createAtlas());
+            view.setMaterial(material);
+            return view;
+        }
+
+        private void addBox(double cx, double cy, double cz, double w, double h, double d, Color color, int label, int side) {
+            int colorIndex = palette.computeIfAbsent(color, c -> palette.size());
+            boxes.add(new float[]{(float) cx, (float) cy, (float) cz,
+                    (float) (w / 2), (float) (h / 2), (float) (d / 2), colorIndex, label, side});
+        }
+
+        private int labelRows() {
+            return (labels.size() + LABEL_COLUMNS - 1) / LABEL_COLUMNS;
+        }
+
+        private int atlasWidth() {
+            return Math.max(labels.isEmpty() ? CELL : LABEL_COLUMNS * LABEL_CELL, palette.size() * CELL);
+        }
+
+        private int atlasHeight() {
+            return labelRows() * LABEL_CELL + CELL;
+        }
+
+        void build() {
+            points = new float[boxes.size() * 8 * 3];
+            faces = new int[boxes.size() * BOX_FACES.length * 6];
+            smoothing = new int[boxes.size() * BOX_FACES.length];
+            int labelTexBase = palette.size();
+
+            int p = 0, f = 0, s = 0;
+            for (int b = 0; b < boxes.size(); b++) {
+                float[] box = boxes.get(b);
+                for (int corner = 0; corner < 8; corner++) {
+                    points[p++] = box[0] + ((corner & 1) != 0 ? box[3] : -box[3]);
+                    points[p++] = box[1] + ((corner & 2) != 0 ? box[4] : -box[4]);
+                    points[p++] = box[2] + ((corner & 4) != 0 ? box[5] : -box[5]);
+                }
+                int base = b * 8;
+                int tex = (int) box[6];
+                int label = (int) box[7];
+                int side = (int) box[8];
+                for (int t = 0; t < BOX_FACES.length; t++) {
+                    boolean top = t == 6 || t == 7;
+                    for (int corner : BOX_FACES[t]) {
+                        faces[f++] = base + corner;
+                        faces[f++] = top && label >= 0 ? labelTexBase + label * 4 + labelCorner(corner, side) : tex;
+                    }
+                    smoothing[s++] = 1 << (t / 2); // každá stěna vlastní skupina => ostré hrany
+                }
+            }
+
+            // barvy: jedna souřadnice na barvu – střed její buňky; názvy: 4 rohy buňky na pole
+            float width = atlasWidth();
+            float height = atlasHeight();
+            float paletteY = labelRows() * LABEL_CELL;
+            texCoords = new float[(palette.size() + labels.size() * 4) * 2];
+            int c = 0;
+            for (int i = 0; i < palette.size(); i++) {
+                texCoords[c++] = (i * CELL + CELL / 2f) / width;
+                texCoords[c++] = (paletteY + CELL / 2f) / height;
+            }
+            for (int i = 0; i < labels.size(); i++) {
+                float x0 = (i % LABEL_COLUMNS) * LABEL_CELL + 0.5f;
+                float y0 = (i / LABEL_COLUMNS) * LABEL_CELL + 0.5f;
+                float x1 = x0 + LABEL_CELL - 1;
+                float y1 = y0 + LABEL_CELL - 1;
+                float[] corners = {x0, y0, x1, y0, x0, y1, x1, y1};
+                for (int k = 0; k < 8; k += 2) {
+                    texCoords[c++] = corners[k] / width;
+                    texCoords[c++] = corners[k + 1] / height;
+                }
+            }
+        }
+
+        // roh horní stěny -> roh buňky s názvem (0 = levý horní, 1 = pravý horní, 2 = levý dolní, 3 = pravý dolní)
+        private static int labelCorner(int corner, int side) {
+            int sx = (corner & 1) != 0 ? 1 : -1;
+            int sz = (corner & 4) != 0 ? 1 : -1;
+            int u = sx * LABEL_U[side][0] + sz * LABEL_U[side][1];
+            int v = sx * LABEL_V[side][0] + sz * LABEL_V[side][1];
+            return (u > 0 ? 1 : 0) + (v > 0 ? 2 : 0);
+        }
+
+        /**
+         * Atlas se vykreslí jedním snapshotem: buňky s názvy polí (podklad v barvě pole)
+         * a pod nimi proužek barev. Musí běžet na FX vlákně.
+         */
+        private WritableImage createAtlas() {
+            Group atlasRoot = new Group();
+            Font font = Font.font("Arial", FontWeight.BOLD, 20);
+            for (int i = 0; i < labels.size(); i++) {
+                double x = (i % LABEL_COLUMNS) * LABEL_CELL;
+                double y = (i / LABEL_COLUMNS) * LABEL_CELL;
+                Color color = labelColors.get(i);
+                Rectangle cell = new Rectangle(x, y, LABEL_CELL, LABEL_CELL);
+                cell.setFill(color);
+
+                Text text = new Text(labels.get(i));
+                text.setFont(font);
+                text.setFill(color.getBrightness() < 0.6 ? Color.WHITE : Color.BLACK);
+                text.setTextAlignment(TextAlignment.CENTER);
+                text.setWrappingWidth(LABEL_CELL - 2 * LABEL_PADDING);
+                text.setTextOrigin(VPos.TOP);
+                text.setX(x + LABEL_PADDING);
+                text.setY(y + (LABEL_CELL - text.getLayoutBounds().getHeight()) / 2);
+                atlasRoot.getChildren().addAll(cell, text);
+            }
+            double paletteY = labelRows() * LABEL_CELL;
+            for (Map.Entry<Color, Integer> entry : palette.entrySet()) {
+                Rectangle cell = new Rectangle(entry.getValue() * CELL, paletteY, CELL, CELL);
+                cell.setFill(entry.getKey());
+                atlasRoot.getChildren().add(cell);
+            }
+
+            SnapshotParameters params = new SnapshotParameters();
+            params.setFill(Color.TRANSPARENT);
+            params.setViewport(new Rectangle2D(0, 0, atlasWidth(), atlasHeight()));
+            return atlasRoot.snapshot(params, new WritableImage(atlasWidth(), atlasHeight()));
+        }
+    }
+}
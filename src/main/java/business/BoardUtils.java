@@ -1,45 +1,28 @@
 package business;
 
 import javafx.scene.Group;
-import javafx.scene.Node;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.PhongMaterial;
-import javafx.scene.shape.Box;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class BoardUtils {
 
     public static final double TILE_SIZE = 600 / 11.0;
     public static final double TILE_HEIGHT = 12;
-    public static final double OFFSET = 600 / 2 - TILE_SIZE / 2;
+    public static final int DEFAULT_BOARD_SIZE = 40;
+    public static final int MIN_BOARD_SIZE = 8;
 
-    public static void addBoardTiles(Group root, List<Tile> tiles) {
-        for (Tile tile : tiles) {
-            double[] pos = getTilePosition(tile.getIndex());
-            double x = pos[0];
-            double z = pos[1];
+    // Vzdálenost kamery od desky výchozí velikosti (větší deska => kamera úměrně dál)
+    public static final double CAMERA_DISTANCE = 1500;
 
-            Box tileBox = new Box(TILE_SIZE * 0.96, TILE_HEIGHT, TILE_SIZE * 0.96);
-            tileBox.setTranslateX(x);
-            tileBox.setTranslateY(-TILE_HEIGHT / 2);
-            tileBox.setTranslateZ(z);
-            tileBox.setMaterial(new PhongMaterial(getTileColor(tile.getType())));
-            root.getChildren().add(tileBox);
-
-            // okraje
-            double b = 1.0;
-            root.getChildren().addAll(
-                    createBorder(TILE_SIZE, TILE_HEIGHT, b, x, z - TILE_SIZE / 2 + b / 2),
-                    createBorder(TILE_SIZE, TILE_HEIGHT, b, x, z + TILE_SIZE / 2 - b / 2),
-                    createBorder(b, TILE_HEIGHT, TILE_SIZE, x - TILE_SIZE / 2 + b / 2, z),
-                    createBorder(b, TILE_HEIGHT, TILE_SIZE, x + TILE_SIZE / 2 - b / 2, z)
-            );
-        }
+    /**
+     * Přidá celou desku jako jeden MeshView (viz BoardMesh).
+     */
+    public static void addBoardTiles(Group root, List<Tile> tiles) {
+        root.getChildren().add(BoardMesh.create(tiles, tile -> getTileColor(tile.getType())));
     }
 
-    private static Color getTileColor(TileType type) {
+    static Color getTileColor(TileType type) {
         return switch (type) {
             case START -> Color.LIGHTGREEN;
             case NEMOVITOST -> Color.BEIGE;
@@ -52,15 +35,6 @@ public class BoardUtils {
         };
     }
 
-    private static Box createBorder(double width, double height, double depth, double x, double z) {
-        Box border = new Box(width, height, depth);
-        border.setMaterial(new PhongMaterial(Color.BLACK));
-        border.setTranslateX(x);
-        border.setTranslateY(-height / 2);
-        border.setTranslateZ(z);
-        return border;
-    }
-
     public static void addLighting(Group root) {
         javafx.scene.PointLight light = new javafx.scene.PointLight(Color.WHITE);
         light.setTranslateY(-500);
@@ -68,96 +42,114 @@ public class BoardUtils {
         root.getChildren().add(light);
     }
 
-    public static double[] getTilePosition(int index) {
-        double x = 0, z = 0;
-        if (index < 10) {
-            x = OFFSET - index * TILE_SIZE;
-            z = OFFSET;
-        } else if (index < 20) {
-            x = -OFFSET;
-            z = OFFSET - (index - 10) * TILE_SIZE;
-        } else if (index < 30) {
-            x = -OFFSET + (index - 20) * TILE_SIZE;
-            z = -OFFSET;
-        } else {
-            x = OFFSET;
-            z = -OFFSET + (index - 30) * TILE_SIZE;
+    /** Počet polí na jedné straně desky (od rohu k dalšímu rohu). */
+    public static int sideLength(int boardSize) {
+        return boardSize / 4;
+    }
+
+    /** Pole vězení – roh na konci první strany. */
+    public static int jailTile(int boardSize) {
+        return sideLength(boardSize);
+    }
+
+    /** Délka strany desky ve scéně (střed rohu ke středu rohu). */
+    public static double boardExtent(int boardSize) {
+        return sideLength(boardSize) * TILE_SIZE;
+    }
+
+    /** Kolikrát je deska větší než výchozí – podle toho se oddaluje kamera. */
+    public static double boardScale(int boardSize) {
+        return Math.max(1, (double) boardSize / DEFAULT_BOARD_SIZE);
+    }
+
+    /**
+     * Střed pole na obvodu čtverce: strana 0 jde od START (vpravo dole) doleva,
+     * strany 1–3 pokračují proti směru hodinových ručiček. Funguje pro libovolnou délku obvodu.
+     */
+    public static double[] getTilePosition(int index, int boardSize) {
+        int side = sideLength(boardSize);
+        double offset = boardExtent(boardSize) / 2;
+        int k = index % side;
+        double x, z;
+        switch (index / side) {
+            case 0 -> {
+                x = offset - k * TILE_SIZE;
+                z = offset;
+            }
+            case 1 -> {
+                x = -offset;
+                z = offset - k * TILE_SIZE;
+            }
+            case 2 -> {
+                x = -offset + k * TILE_SIZE;
+                z = -offset;
+            }
+            default -> {
+                x = offset;
+                z = -offset + k * TILE_SIZE;
+            }
         }
         return new double[]{x, z};
     }
 
     // Přemístěno: zobrazení hráče
     public static void positionPlayers(List<Player> players, GameState state) {
+        // kolik figurek stojí na každém poli
+        int[] crowd = new int[state.getBoardSize()];
+        for (Player p : players) {
+            crowd[p.getPosition()]++;
+        }
+        int[] placed = new int[crowd.length];
         for (int i = 0; i < players.size(); i++) {
             Player p = players.get(i);
             int tile = p.getPosition();
 
-            double[] pos = getTilePosition(tile);
+            double[] pos = getTilePosition(tile, state.getBoardSize());
             double x = pos[0];
             double z = pos[1];
 
-            double spread = TILE_SIZE / 3.0;
-            double fx = x - spread / 2 + (i % 2) * spread;
-            double fz = z - spread / 2 + (i / 2) * spread;
+            // do 4 hráčů má každý svůj kvadrant 2x2, v davu se figurky pole řadí do mřížky k x k a zmenší se
+            int slot = players.size() <= 4 ? i : placed[tile]++;
+            int k = Math.max(2, (int) Math.ceil(Math.sqrt(crowd[tile])));
+            double spread = TILE_SIZE / (k + 1);
+            double fx = x + (slot % k - (k - 1) / 2.0) * spread;
+            double fz = z + (slot / k - (k - 1) / 2.0) * spread;
 
             p.getFigure().setTranslateX(fx);
             p.getFigure().setTranslateZ(fz);
+            double scale = 2.0 / k;
+            p.getFigure().setScaleX(scale);
+            p.getFigure().setScaleY(scale);
+            p.getFigure().setScaleZ(scale);
         }
     }
 
+    /**
+     * Barva hráče: první čtyři klasické, další se rozprostírají po barevném kole
+     * (zlatý úhel), takže i stovky hráčů mají navzájem odlišné barvy.
+     */
     public static Color getPlayerColor(int index) {
         return switch (index) {
             case 0 -> Color.RED;
             case 1 -> Color.BLUE;
             case 2 -> Color.GREEN;
             case 3 -> Color.YELLOW;
-            default -> Color.GRAY;
+            default -> Color.hsb((index * 137.508) % 360, 0.55 + 0.4 * (index % 3) / 2, 0.95 - 0.25 * (index % 2));
         };
     }
 
+    /**
+     * Deska podle aktuálních pravidel (RuleSet.current()) ve velikosti jejich vzoru.
+     */
     public static List<Tile> generateTiles() {
-        List<Tile> tiles = new ArrayList<>();
-        for (int i = 0; i < 40; i++) {
-            TileType type;
-            int price = 0;
-            int rent = 0;
-            String name = "Pole " + i;
-
-            // ukázkové rozdělení
-            if (i == 0) type = TileType.START;
-            else if (i == 2 || i == 17 || i == 38) type = TileType.SANCE;
-            else if (i == 4 || i == 33) type = TileType.DAN;
-            else if (i == 10) type = TileType.VEZENI;
-            else if (i == 20) type = TileType.PARKOVISTE;
-            else if (i == 30) type = TileType.DO_VEZENI;
-            else if (i == 7 || i == 22 || i == 36) type = TileType.POKLADNA;
-            else {
-                type = TileType.NEMOVITOST;
-                price = 100 + (i % 5) * 20;
-                rent = price / 5;
-            }
-
-            tiles.add(new Tile(i, type, name, price, rent));
-        }
-        return tiles;
+        RuleSet rules = RuleSet.current();
+        return rules.generateTiles(rules.getBoardSize());
     }
 
     /**
-     * Najde Box pro dané tileIndex (pokud chceš měnit textury)
+     * Deska o boardSize polích podle aktuálních pravidel (viz RuleSet.generateTiles).
      */
-    public static Box getTileBox(Group root3D, int tileIndex) {
-        double[] pos = getTilePosition(tileIndex);
-        double x = pos[0];
-        double z = pos[1];
-        for (Node n : root3D.getChildren()) {
-            if (n instanceof Box box) {
-                // porovnáme X a Z s malou tolerancí
-                if (Math.abs(box.getTranslateX() - x) < 1 &&
-                        Math.abs(box.getTranslateZ() - z) < 1) {
-                    return box;
-                }
-            }
-        }
-        return null;
+    public static List<Tile> generateTiles(int boardSize) {
+        return RuleSet.current().generateTiles(boardSize);
     }
 }
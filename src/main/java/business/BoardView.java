@@ -0,0 +1,250 @@
+package business;
+
+import javafx.geometry.Point3D;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.SubScene;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.Box;
+import javafx.scene.shape.MeshView;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Model 3D desky s přímými odkazy na uzly každého pole (domky, značka vlastníka, popisek).
+ * Změny domků, zvýraznění a vlastnictví jsou O(1) – nic se nehledá procházením root3D.
+ *
+ * Deska je rozdělená na bloky (BoardMesh.Chunk). Bloky mimo zorný jehlan kamery se skryjí
+ * celé i s domky a vzdálené bloky mají jen hrubý detail – i deska o tisících polí
+ * kreslí jen to, co je opravdu vidět.
+ */
+public class BoardView {
+
+    private static final PhongMaterial HOUSE_MATERIAL = new PhongMaterial(Color.DARKGREEN);
+    private static final PhongMaterial HIGHLIGHT_MATERIAL = new PhongMaterial(Color.color(1, 1, 0, 0.4));
+    private static final double DETAIL_PIXELS = 24; // pole menší než tohle na obrazovce => hrubý detail
+
+    private final Group root3D;
+    private final TileSlot[] slots;
+    private final ChunkNode[] chunks;
+    private final Box highlight;
+    private final Map<Color, PhongMaterial> ownerMaterials = new HashMap<>();
+
+    /**
+     * Uzly jednoho pole. Deska samotná je jeden mesh (BoardMesh), pole si pamatuje jen svůj střed.
+     */
+    public static final class TileSlot {
+        private final int index;
+        private final double x;
+        private final double z;
+        private final ChunkNode chunk;
+        private final Group houses = new Group();
+        private Box ownerMarker;
+
+        private TileSlot(int index, double x, double z, ChunkNode chunk) {
+            this.index = index;
+            this.x = x;
+            this.z = z;
+            this.chunk = chunk;
+            houses.setTranslateX(x);
+            houses.setTranslateZ(z);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public double getX() {
+            return x;
+        }
+
+        public double getZ() {
+            return z;
+        }
+
+        public Group getHouses() {
+            return houses;
+        }
+    }
+
+    // Uzly jednoho bloku: plný detail vzniká až při prvním přiblížení kamery
+    private static final class ChunkNode {
+        private final BoardMesh.Chunk chunk;
+        private final Group group = new Group();       // celý blok – skrývá se ořezem
+        private final Group decorations = new Group(); // domky a značky vlastníků – jen v plném detailu
+        private final MeshView coarse;
+        private MeshView detail;
+
+        private ChunkNode(BoardMesh.Chunk chunk) {
+            this.chunk = chunk;
+            this.coarse = chunk.createCoarseView();
+            group.getChildren().addAll(coarse, decorations);
+            decorations.setVisible(false);
+        }
+
+        private void setDetail(boolean show) {
+            if (show && detail == null) {
+                detail = chunk.createDetailView();
+                group.getChildren().add(0, detail);
+            }
+            if (detail != null) detail.setVisible(show);
+            coarse.setVisible(!show);
+            decorations.setVisible(show);
+        }
+    }
+
+    public BoardView(Group root3D, List<Tile> tiles, Function<Tile, Color> tileColor) {
+        this(root3D, tiles, BoardMesh.prepare(tiles, tileColor));
+    }
+
+    /**
+     * Deska z předem připravené sítě (BoardMesh.prepare na pozadí).
+     */
+    public BoardView(Group root3D, List<Tile> tiles, BoardMesh mesh) {
+        this.root3D = root3D;
+        this.slots = new TileSlot[tiles.size()];
+
+        List<BoardMesh.Chunk> meshChunks = mesh.getChunks();
+        this.chunks = new ChunkNode[meshChunks.size()];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = new ChunkNode(meshChunks.get(c));
+            root3D.getChildren().add(chunks[c].group);
+        }
+        // bez kamery (watch) se kreslí všechno v plném detailu
+        if (chunks.length == 1) chunks[0].setDetail(true);
+
+        for (Tile tile : tiles) {
+            double[] pos = BoardUtils.getTilePosition(tile.getIndex(), tiles.size());
+            ChunkNode chunk = chunks[tile.getIndex() / BoardMesh.CHUNK_TILES];
+            TileSlot slot = new TileSlot(tile.getIndex(), pos[0], pos[1], chunk);
+            slots[tile.getIndex()] = slot;
+            chunk.decorations.getChildren().add(slot.houses);
+        }
+
+        highlight = new Box(BoardUtils.TILE_SIZE * 1.1, 1, BoardUtils.TILE_SIZE * 1.1);
+        highlight.setTranslateY(-BoardUtils.TILE_HEIGHT - 0.1);
+        highlight.setMaterial(HIGHLIGHT_MATERIAL);
+        highlight.setVisible(false);
+        root3D.getChildren().add(highlight);
+    }
+
+    /**
+     * Sleduje kameru SubScény: po každém pohybu kamery nebo změně velikosti okna
+     * skryje bloky mimo zorný jehlan a vzdáleným blokům nechá jen hrubý detail.
+     */
+    public void watch(PerspectiveCamera camera, SubScene subScene) {
+        Runnable cull = () -> cull(camera, subScene.getWidth(), subScene.getHeight());
+        camera.localToSceneTransformProperty().addListener((obs, old, now) -> cull.run());
+        camera.fieldOfViewProperty().addListener((obs, old, now) -> cull.run());
+        subScene.widthProperty().addListener((obs, old, now) -> cull.run());
+        subScene.heightProperty().addListener((obs, old, now) -> cull.run());
+        cull.run();
+    }
+
+    /**
+     * Ořez a volba detailu pro kameru a výřez width x height. Test obalové koule bloku
+     * proti šesti rovinám jehlanu v souřadnicích kamery (kamera hledí po +Z, y dolů).
+     */
+    public void cull(PerspectiveCamera camera, double width, double height) {
+        double tan = Math.tan(Math.toRadians(camera.getFieldOfView()) / 2);
+        double aspect = width / height;
+        double tanV = camera.isVerticalFieldOfView() ? tan : tan / aspect;
+        double tanH = tanV * aspect;
+        double normH = Math.sqrt(1 + tanH * tanH);
+        double normV = Math.sqrt(1 + tanV * tanV);
+        double near = camera.getNearClip();
+        double far = camera.getFarClip();
+        double pixelsAtUnit = height / 2 / tanV; // velikost 1 jednotky v pixelech ve vzdálenosti 1
+
+        for (ChunkNode node : chunks) {
+            BoardMesh.Chunk chunk = node.chunk;
+            Point3D c = camera.sceneToLocal(chunk.getCenterX(), 0, chunk.getCenterZ());
+            double r = chunk.getRadius();
+            double z = c.getZ();
+            boolean visible = z + r > near && z - r < far
+                    && (z * tanH - c.getX()) / normH >= -r && (z * tanH + c.getX()) / normH >= -r
+                    && (z * tanV - c.getY()) / normV >= -r && (z * tanV + c.getY()) / normV >= -r;
+            node.group.setVisible(visible);
+            if (visible) {
+                double nearest = Math.max(z - r, near);
+                node.setDetail(BoardUtils.TILE_SIZE * pixelsAtUnit / nearest >= DETAIL_PIXELS);
+            }
+        }
+    }
+
+    /** Počet bloků, které se právě kreslí (pro diagnostiku). */
+    public int getVisibleChunkCount() {
+        int visible = 0;
+        for (ChunkNode node : chunks) {
+            if (node.group.isVisible()) visible++;
+        }
+        return visible;
+    }
+
+    public int getChunkCount() {
+        return chunks.length;
+    }
+
+    public TileSlot getSlot(int index) {
+        return slots[index];
+    }
+
+    // Zvýrazní dané pole (žlutým poloprůhledným čtvercem) – jeden Box se jen přesouvá
+    public void highlight(int index) {
+        TileSlot slot = slots[index];
+        highlight.setTranslateX(slot.x);
+        highlight.setTranslateZ(slot.z);
+        highlight.setVisible(true);
+    }
+
+    public void clearHighlight() {
+        highlight.setVisible(false);
+    }
+
+    /**
+     * Srovná domky a značku vlastníka pole se stavem Tile.
+     */
+    public void update(Tile tile) {
+        setHouses(tile.getIndex(), tile.getLevel());
+        setOwner(tile.getIndex(), tile.getOwner());
+    }
+
+    public void setHouses(int index, int level) {
+        List<Node> houses = slots[index].houses.getChildren();
+        while (houses.size() > level) {
+            houses.remove(houses.size() - 1);
+        }
+        for (int i = houses.size(); i < level; i++) {
+            Box house = new Box(10, 10, 10);
+            house.setTranslateX(-15 + i * 15);
+            house.setTranslateY(-BoardUtils.TILE_HEIGHT - 5);
+            house.setMaterial(HOUSE_MATERIAL);
+            houses.add(house);
+        }
+    }
+
+    public void setOwner(int index, Player owner) {
+        TileSlot slot = slots[index];
+        if (owner == null) {
+            if (slot.ownerMarker != null) {
+                slot.ownerMarker.setVisible(false);
+            }
+            return;
+        }
+        if (slot.ownerMarker == null) {
+            double size = BoardUtils.TILE_SIZE * 0.25;
+            slot.ownerMarker = new Box(size, 2, size);
+            slot.ownerMarker.setTranslateX(slot.x + BoardUtils.TILE_SIZE * 0.3);
+            slot.ownerMarker.setTranslateY(-BoardUtils.TILE_HEIGHT - 1);
+            slot.ownerMarker.setTranslateZ(slot.z + BoardUtils.TILE_SIZE * 0.3);
+            slot.chunk.decorations.getChildren().add(slot.ownerMarker);
+        }
+        slot.ownerMarker.setMaterial(ownerMaterials.computeIfAbsent(owner.getColor(), PhongMaterial::new));
+        slot.ownerMarker.setVisible(true);
+    }
+}
@@ -0,0 +1,72 @@
+package business;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Balíček karet jedné hry: zamíchaný dobírací balíček, použité karty jdou
+ * do odkládacího a po vyčerpání se celý balíček znovu zamíchá.
+ * Míchá se generátorem hry, takže stejný seed = stejné pořadí karet.
+ * Karty se míchají jako indexy do seznamu definic (index jde do žurnálu).
+ */
+public class CardDeck {
+
+    private final List<ChanceCard> cards;
+    private final int[] order;
+    private final RandomGenerator random;
+    private int drawn = 0; // order[0..drawn) = odkládací balíček, order[drawn..] = dobírací
+
+    public CardDeck(List<ChanceCard> cards, RandomGenerator random) {
+        if (cards.isEmpty()) {
+            throw new IllegalArgumentException("Balíček karet nesmí být prázdný");
+        }
+        this.cards = List.copyOf(cards);
+        this.order = new int[cards.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        this.random = random;
+        shuffle();
+    }
+
+    public ChanceCard draw() {
+        return cards.get(drawIndex());
+    }
+
+    /**
+     * Vytáhne kartu a vrátí její index v seznamu definic (viz getCard).
+     */
+    public int drawIndex() {
+        if (drawn == order.length) {
+            shuffle();
+        }
+        return order[drawn++];
+    }
+
+    public ChanceCard getCard(int index) {
+        return cards.get(index);
+    }
+
+    public List<ChanceCard> getCards() {
+        return cards;
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    public int remaining() {
+        return order.length - drawn;
+    }
+
+    // Fisher–Yates nad celým balíčkem (odkládací + zbytek)
+    private void shuffle() {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        drawn = 0;
+    }
+}
@@ -1,59 +1,91 @@
 package business;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-
-public class ChanceCard {
-
-    private static final Random rand = new Random();
-
-    // ukázkový seznam karet
-    private static final List<String> cardMessages = new ArrayList<>(List.of(
-            "Zaplať 100Kč za opravy domu",
-            "Získej 200Kč jako dárek",
-            "Jdi do vězení!",
-            "Posuň se na START",
-            "Získej 50Kč za nález",
-            "Zaplať 150Kč pokutu",
-            "Jdi na pole 5 (rychlejší nákup)",
-            "Získej 300Kč od všech"
-    ));
-
-    public static void applyRandomEffect(Player p, GameState state) {
-        String card = cardMessages.get(rand.nextInt(cardMessages.size()));
-
-        switch (card) {
-            case "Zaplať 100Kč za opravy domu" -> {
-                p.subtractMoney(100);
-            }
-            case "Získej 200Kč jako dárek" -> {
-                p.addMoney(200);
-            }
-            case "Jdi do vězení!" -> {
-                p.goToJail();
-            }
-            case "Posuň se na START" -> {
-                p.moveTo(0);
-            }
-            case "Získej 50Kč za nález" -> {
-                p.addMoney(50);
-            }
-            case "Zaplať 150Kč pokutu" -> {
-                p.subtractMoney(150);
-            }
-            case "Jdi na pole 5 (rychlejší nákup)" -> {
-                p.moveTo(5);
-            }
-            case "Získej 300Kč od všech" -> {
+/**
+ * Karta šance/pokladny jako typovaný efekt (žádné porovnávání textů).
+ * Balíček karet a losování řeší CardDeck, sadu karet určují pravidla (RuleSet).
+ */
+public final class ChanceCard {
+
+    public enum Effect {
+        PAY,             // zaplatí amount
+        GAIN,            // získá amount
+        GO_TO_JAIL,
+        MOVE_TO,         // přesun na pole target (bez efektu pole)
+        COLLECT_FROM_ALL // od každého aktivního soupeře amount
+    }
+
+    public static final int NO_MOVE = -1;
+    public static final int GO_TO_JAIL = -2;
+
+    private final String message;
+    private final Effect effect;
+    private final int amount;
+    private final int target;
+
+    public ChanceCard(String message, Effect effect, int amount, int target) {
+        this.message = message;
+        this.effect = effect;
+        this.amount = amount;
+        this.target = target;
+    }
+
+    public void apply(Player p, GameState state) {
+        switch (effect) {
+            case PAY -> p.subtractMoney(amount);
+            case GAIN -> p.addMoney(amount);
+            case GO_TO_JAIL -> p.goToJail();
+            case MOVE_TO -> p.moveTo(target);
+            case COLLECT_FROM_ALL -> {
                 for (Player other : state.getPlayers()) {
                     if (other != p && !other.isBankrupt()) {
-                        other.subtractMoney(300);
-                        p.addMoney(300);
+                        other.subtractMoney(amount);
+                        p.addMoney(amount);
                     }
                 }
             }
         }
-        System.out.println("[ŠANCE] " + p.getName() + " vytáhl kartu: " + card);
+    }
+
+    /**
+     * Kam karta přesune hráče: index pole, GO_TO_JAIL, nebo NO_MOVE.
+     */
+    public int moveTarget() {
+        return switch (effect) {
+            case GO_TO_JAIL -> GO_TO_JAIL;
+            case MOVE_TO -> target;
+            default -> NO_MOVE;
+        };
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Effect getEffect() {
+        return effect;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ChanceCard c && c.effect == effect && c.amount == amount
+                && c.target == target && c.message.equals(message);
+    }
+
+    @Override
+    public int hashCode() {
+        return message.hashCode() * 31 + effect.hashCode() * 7 + amount * 3 + target;
+    }
+
+    @Override
+    public String toString() {
+        return message;
     }
 }
@@ -0,0 +1,81 @@
+package business;
+
+/**
+ * Rozhodování hráče v nabídce nemovitosti (koupit / vylepšit / odmítnout).
+ * GameScene se ptá člověka, headless simulace se ptají implementace tohoto rozhraní.
+ */
+public interface DecisionPolicy {
+
+    /** Koupí vždy, když na to má. */
+    DecisionPolicy ALWAYS_BUY = new DecisionPolicy() {
+        @Override
+        public boolean shouldBuy(Player player, Tile tile, GameState state) {
+            return true;
+        }
+
+        @Override
+        public boolean shouldUpgrade(Player player, Tile tile, GameState state) {
+            return true;
+        }
+    };
+
+    /** Nikdy nic nekupuje. */
+    DecisionPolicy NEVER_BUY = new DecisionPolicy() {
+        @Override
+        public boolean shouldBuy(Player player, Tile tile, GameState state) {
+            return false;
+        }
+
+        @Override
+        public boolean shouldUpgrade(Player player, Tile tile, GameState state) {
+            return false;
+        }
+    };
+
+    /** Kupuje vždy, když na to má, ale nikdy nestaví domy. */
+    DecisionPolicy NEVER_UPGRADE = new DecisionPolicy() {
+        @Override
+        public boolean shouldBuy(Player player, Tile tile, GameState state) {
+            return true;
+        }
+
+        @Override
+        public boolean shouldUpgrade(Player player, Tile tile, GameState state) {
+            return false;
+        }
+    };
+
+    /** Kupuje jen pole s cenou do maxPrice, staví vždy. */
+    static DecisionPolicy buyUnder(int maxPrice) {
+        return new DecisionPolicy() {
+            @Override
+            public boolean shouldBuy(Player player, Tile tile, GameState state) {
+                return tile.getPrice() <= maxPrice;
+            }
+
+            @Override
+            public boolean shouldUpgrade(Player player, Tile tile, GameState state) {
+                return true;
+            }
+        };
+    }
+
+    /** Kupuje i staví, jen když mu po zaplacení zůstane aspoň reserve Kč. */
+    static DecisionPolicy keepReserve(int reserve) {
+        return new DecisionPolicy() {
+            @Override
+            public boolean shouldBuy(Player player, Tile tile, GameState state) {
+                return player.getMoney() - tile.getPrice() >= reserve;
+            }
+
+            @Override
+            public boolean shouldUpgrade(Player player, Tile tile, GameState state) {
+                return player.getMoney() - tile.getUpgradeCost() >= reserve;
+            }
+        };
+    }
+
+    boolean shouldBuy(Player player, Tile tile, GameState state);
+
+    boolean shouldUpgrade(Player player, Tile tile, GameState state);
+}
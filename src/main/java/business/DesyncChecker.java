@@ -0,0 +1,215 @@
+package business;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Kontrola determinismu: stejná hra (stejný seed) běží ve dvou enginech a po každém tahu
+ * se porovná StateHash. Hlásí první tah, kde se stavy rozešly, i s popisem obou stavů.
+ *
+ * Výchozí kontrola má dvě porovnání: TurnEngine proti dráze BatchSimulatoru (rychlý dávkový
+ * režim musí hrát přesně jako headless engine) a dráha scény (TurnFlow – tytéž kroky, které
+ * GameScene provádí mezi animacemi, včetně pohybu po jednom poli) proti TurnEngine. Samotné
+ * JavaFX (animace, tlačítka, labely) kontrolou neprochází.
+ */
+public final class DesyncChecker {
+
+    /**
+     * Jeden způsob, jak hrát hru – tah po tahu.
+     */
+    public interface Lane {
+        /** Odehraje jeden tah; false = hra už skončila a nic se nehrálo. */
+        boolean playTurn();
+
+        long hash();
+
+        /** Čitelný stav pro hlášení rozdílu. */
+        String describe();
+    }
+
+    /**
+     * První rozdíl: tah (0 = už výchozí stav), hashe a stavy obou drah.
+     */
+    public record Divergence(long seed, int turn, long expectedHash, long actualHash,
+                             String expectedState, String actualState) {
+        @Override
+        public String toString() {
+            return String.format("Rozdíl v tahu %d (seed %d): %016x vs %016x%n  očekáváno: %s%n  skutečnost: %s",
+                    turn, seed, expectedHash, actualHash, expectedState, actualState);
+        }
+    }
+
+    private DesyncChecker() {
+    }
+
+    /**
+     * Hraje obě dráhy v lockstepu; vrací první rozdíl, nebo null, když se shodují až do konce
+     * (nebo do maxTurns tahů).
+     */
+    public static Divergence compare(long seed, Lane reference, Lane candidate, int maxTurns) {
+        for (int turn = 0; turn <= maxTurns; turn++) {
+            boolean a = true;
+            boolean b = true;
+            if (turn > 0) {
+                a = reference.playTurn();
+                b = candidate.playTurn();
+            }
+            if (a != b || reference.hash() != candidate.hash()) {
+                return new Divergence(seed, turn, reference.hash(), candidate.hash(),
+                        reference.describe(), candidate.describe());
+            }
+            if (!a) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Dráha TurnEngine nad stavem GameState – hash je průběžný (GameState.getHash).
+     */
+    public static Lane engineLane(GameState state, List<DecisionPolicy> policies) {
+        TurnEngine engine = new TurnEngine(state, policies);
+        return new Lane() {
+            @Override
+            public boolean playTurn() {
+                return engine.playTurn();
+            }
+
+            @Override
+            public long hash() {
+                return state.getHash().get();
+            }
+
+            @Override
+            public String describe() {
+                return describeState(state);
+            }
+        };
+    }
+
+    /**
+     * Dráha interaktivní scény: TurnFlow ve stejném pořadí kroků jako GameScene, nabídky
+     * nemovitostí rozhodují strategie místo tlačítek.
+     */
+    public static Lane sceneLane(GameState state, List<DecisionPolicy> policies) {
+        TurnFlow flow = new TurnFlow(state);
+        return new Lane() {
+            @Override
+            public boolean playTurn() {
+                return flow.playTurn(policies);
+            }
+
+            @Override
+            public long hash() {
+                return state.getHash().get();
+            }
+
+            @Override
+            public String describe() {
+                return describeState(state);
+            }
+        };
+    }
+
+    /**
+     * Dráha jedné hry BatchSimulatoru (simulátor se hrou 0 = seed, hraje ALWAYS_BUY).
+     */
+    public static Lane batchLane(BatchSimulator batch, int players) {
+        return new Lane() {
+            @Override
+            public boolean playTurn() {
+                if (batch.unfinishedGames() == 0) {
+                    return false;
+                }
+                batch.step();
+                return true;
+            }
+
+            @Override
+            public long hash() {
+                return batch.hash(0);
+            }
+
+            @Override
+            public String describe() {
+                StringBuilder sb = new StringBuilder("na tahu ").append(batch.getCurrent(0));
+                for (int p = 0; p < players; p++) {
+                    appendPlayer(sb, p, batch.getPosition(0, p), batch.getMoney(0, p),
+                            batch.getJailTurns(0, p), batch.isBankrupt(0, p));
+                }
+                for (int t = 0; t < batch.getBoardSize(); t++) {
+                    if (batch.getOwner(0, t) >= 0) appendTile(sb, t, batch.getOwner(0, t), batch.getLevel(0, t));
+                }
+                return sb.toString();
+            }
+        };
+    }
+
+    /**
+     * Jedna hra se stejným seedem: TurnEngine (ALWAYS_BUY) proti BatchSimulatoru, pak dráha
+     * scény proti TurnEngine.
+     */
+    public static Divergence checkGame(int players, long seed, int maxTurns) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            names.add("Hráč " + (i + 1));
+        }
+        List<DecisionPolicy> policies = Collections.nCopies(players, DecisionPolicy.ALWAYS_BUY);
+        Divergence batch = compare(seed, engineLane(new GameState(names, seed), policies),
+                batchLane(new BatchSimulator(1, players, seed), players), maxTurns);
+        if (batch != null) {
+            return batch;
+        }
+        return compare(seed, engineLane(new GameState(names, seed), policies),
+                sceneLane(new GameState(names, seed), policies), maxTurns);
+    }
+
+    private static String describeState(GameState state) {
+        StringBuilder sb = new StringBuilder("na tahu ").append(state.getCurrentPlayerIndex());
+        for (Player p : state.getPlayers()) {
+            appendPlayer(sb, p.getId(), p.getPosition(), p.getMoney(), p.getJailTurns(), p.isBankrupt());
+        }
+        for (Tile t : state.getTiles()) {
+            if (t.isOwned()) appendTile(sb, t.getIndex(), t.getOwner().getId(), t.getLevel());
+        }
+        return sb.toString();
+    }
+
+    private static void appendPlayer(StringBuilder sb, int id, int position, int money, int jailTurns, boolean bankrupt) {
+        sb.append(" | H").append(id).append(": pole ").append(position).append(", ").append(money).append(" Kč");
+        if (jailTurns > 0) sb.append(", vězení ").append(jailTurns);
+        if (bankrupt) sb.append(", bankrot");
+    }
+
+    private static void appendTile(StringBuilder sb, int tile, int owner, int level) {
+        sb.append(" | pole ").append(tile).append(": H").append(owner).append(" L").append(level);
+    }
+
+    /**
+     * Spuštění z příkazové řádky: [počet her] [počet hráčů] [seed]
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        long start = System.nanoTime();
+        List<Divergence> divergences = IntStream.range(0, games).parallel()
+                .mapToObj(g -> checkGame(players, MonteCarloSimulator.gameSeed(seed, g),
+                        MonteCarloSimulator.DEFAULT_MAX_TURNS))
+                .filter(Objects::nonNull)
+                .toList();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        if (divergences.isEmpty()) {
+            System.out.printf("Shoda: %d her bez rozdílu (%.2f s)%n", games, seconds);
+        } else {
+            System.out.printf("Rozdíl v %d z %d her (%.2f s), první:%n%s%n",
+                    divergences.size(), games, seconds, divergences.get(0));
+        }
+    }
+}
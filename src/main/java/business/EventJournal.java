@@ -0,0 +1,140 @@
+package business;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only žurnál herních událostí v paměťově mapovaném souboru.
+ *
+ * Formát (little-endian):
+ * <pre>
+ * hlavička: magic "BTJ1" | verze (int) | potvrzená délka dat (long) | začátek dat (int)
+ *           | počet hráčů (int) | počet polí desky (int, od verze 2)
+ *           | hash pravidel (long, od verze 3) | zdroj pravidel (short délka + UTF-8, od verze 3)
+ *           | jména (short délka + UTF-8)...
+ * záznam:   typ (byte) | 0 (byte) | hráč (short) | a (int) | b (int)   = 12 bajtů
+ * </pre>
+ * Potvrzená délka se zapisuje až po záznamu, takže po pádu procesu čtenář vidí
+ * jen celé záznamy. Soubor roste po blocích a mapování se podle potřeby zvětší.
+ * Žurnály verze 1 a 2 vznikly ještě s pevnými klasickými pravidly.
+ */
+public class EventJournal implements GameEventBus.Subscriber, AutoCloseable {
+
+    static final int MAGIC = 0x314A5442; // "BTJ1"
+    static final int VERSION = 3;
+    static final int RECORD_SIZE = 12;
+    static final int COMMITTED_OFFSET = 8;
+    static final int DATA_START_OFFSET = 16;
+    private static final int GROW_BY = 1 << 20;
+
+    private final FileChannel channel;
+    private final int dataStart;
+    private MappedByteBuffer buffer;
+    private long committed = 0;
+
+    private EventJournal(FileChannel channel, List<String> playerNames, int boardSize, RuleSet rules) throws IOException {
+        this.channel = channel;
+
+        byte[] source = rules.getSource().getBytes(StandardCharsets.UTF_8);
+        int headerSize = DATA_START_OFFSET + 12 + 8 + 2 + source.length;
+        for (String name : playerNames) {
+            headerSize += 2 + name.getBytes(StandardCharsets.UTF_8).length;
+        }
+        this.dataStart = headerSize;
+        map(Math.max(GROW_BY, headerSize + RECORD_SIZE));
+
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(COMMITTED_OFFSET, 0);
+        buffer.putInt(DATA_START_OFFSET, dataStart);
+        buffer.putInt(DATA_START_OFFSET + 4, playerNames.size());
+        buffer.putInt(DATA_START_OFFSET + 8, boardSize);
+        buffer.putLong(DATA_START_OFFSET + 12, rules.getHash());
+        buffer.putShort(DATA_START_OFFSET + 20, (short) source.length);
+        buffer.put(DATA_START_OFFSET + 22, source);
+        int pos = DATA_START_OFFSET + 22 + source.length;
+        for (String name : playerNames) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            buffer.putShort(pos, (short) bytes.length);
+            buffer.put(pos + 2, bytes);
+            pos += 2 + bytes.length;
+        }
+    }
+
+    /**
+     * Založí nový žurnál pro hru (přepíše existující soubor) a zaregistruje ho jako posluchače.
+     */
+    public static EventJournal record(GameState state, Path file) {
+        EventJournal journal = create(state, file);
+        state.addListener(journal);
+        return journal;
+    }
+
+    /**
+     * Založí nový žurnál pro hru bez registrace – události dostane od sběrnice (GameEventBus.subscribe).
+     */
+    public static EventJournal create(GameState state, Path file) {
+        List<String> names = state.getPlayers().stream().map(Player::getName).toList();
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            return new EventJournal(channel, names, state.getBoardSize(), state.getRules());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze založit žurnál " + file, e);
+        }
+    }
+
+    @Override
+    public void onEvent(GameEventType type, int player, int a, int b) {
+        long offset = dataStart + committed;
+        if (offset + RECORD_SIZE > buffer.capacity()) {
+            try {
+                map(buffer.capacity() + GROW_BY);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Nelze zvětšit žurnál", e);
+            }
+        }
+        int at = (int) offset;
+        buffer.put(at, (byte) type.ordinal());
+        buffer.put(at + 1, (byte) 0);
+        buffer.putShort(at + 2, (short) player);
+        buffer.putInt(at + 4, a);
+        buffer.putInt(at + 8, b);
+        committed += RECORD_SIZE;
+        buffer.putLong(COMMITTED_OFFSET, committed);
+    }
+
+    public long getEventCount() {
+        return committed / RECORD_SIZE;
+    }
+
+    /**
+     * Vynutí zápis na disk (pro případ výpadku celého systému, ne jen procesu).
+     */
+    public void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+            channel.truncate(dataStart + committed);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze uzavřít žurnál", e);
+        }
+    }
+
+    private void map(long size) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,49 @@
+package business;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Statistika událostí jako odběratel sběrnice (GameEventBus): počet událostí každého druhu
+ * a součet částek (koupě, vylepšení, nájmy, daně, bonusy). Zapisuje jen vlákno odběratele,
+ * číst se smí odkudkoli.
+ */
+public final class EventStats implements GameEventBus.Subscriber {
+
+    private static final int TYPES = GameEventType.values().length;
+
+    private final AtomicLongArray counts = new AtomicLongArray(TYPES);
+    private final AtomicLongArray amounts = new AtomicLongArray(TYPES);
+
+    @Override
+    public void onEvent(GameEventType type, int player, int a, int b) {
+        int t = type.ordinal();
+        counts.lazySet(t, counts.get(t) + 1); // jediný zapisovatel, stačí lazySet
+        long amount = switch (type) {
+            case BUY, UPGRADE, RENT -> b;
+            case TAX, START_BONUS -> a;
+            default -> 0;
+        };
+        if (amount != 0) {
+            amounts.lazySet(t, amounts.get(t) + amount);
+        }
+    }
+
+    public long getCount(GameEventType type) {
+        return counts.get(type.ordinal());
+    }
+
+    /**
+     * Součet částek událostí daného druhu v Kč (0 u druhů bez částky).
+     */
+    public long getAmount(GameEventType type) {
+        return amounts.get(type.ordinal());
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (int t = 0; t < TYPES; t++) {
+            total += counts.get(t);
+        }
+        return total;
+    }
+}
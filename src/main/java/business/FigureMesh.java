@@ -0,0 +1,70 @@
+package business;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Figurky hráčů: jedna sdílená síť koule pro všechny, každá figurka je jen MeshView
+ * s materiálem své barvy (stejné barvy sdílejí i materiál). Stovky figurek tak
+ * nenesou stovky kopií geometrie. Používat na FX vlákně.
+ */
+final class FigureMesh {
+
+    static final double RADIUS = BoardUtils.TILE_SIZE / 4.5;
+    private static final int SEGMENTS = 16; // poledníky
+    private static final int RINGS = 8;     // rovnoběžky
+
+    private static TriangleMesh mesh;
+    private static final Map<Color, PhongMaterial> MATERIALS = new HashMap<>();
+
+    private FigureMesh() {
+    }
+
+    static MeshView create(Color color) {
+        if (mesh == null) {
+            mesh = buildSphere();
+        }
+        MeshView figure = new MeshView(mesh);
+        figure.setMaterial(MATERIALS.computeIfAbsent(color, PhongMaterial::new));
+        return figure;
+    }
+
+    // Koule z rovnoběžek a poledníků (y dolů, vršek je y = -RADIUS), stěny míří ven
+    private static TriangleMesh buildSphere() {
+        float[] points = new float[(RINGS + 1) * SEGMENTS * 3];
+        int p = 0;
+        for (int r = 0; r <= RINGS; r++) {
+            double lat = Math.PI * r / RINGS;
+            for (int s = 0; s < SEGMENTS; s++) {
+                double lon = 2 * Math.PI * s / SEGMENTS;
+                points[p++] = (float) (RADIUS * Math.sin(lat) * Math.cos(lon));
+                points[p++] = (float) (-RADIUS * Math.cos(lat));
+                points[p++] = (float) (RADIUS * Math.sin(lat) * Math.sin(lon));
+            }
+        }
+        int[] faces = new int[RINGS * SEGMENTS * 2 * 6];
+        int f = 0;
+        for (int r = 0; r < RINGS; r++) {
+            for (int s = 0; s < SEGMENTS; s++) {
+                int a = r * SEGMENTS + s;
+                int b = r * SEGMENTS + (s + 1) % SEGMENTS;
+                int c = a + SEGMENTS;
+                int d = b + SEGMENTS;
+                for (int vertex : new int[]{a, c, b, b, c, d}) {
+                    faces[f++] = vertex;
+                    faces[f++] = 0;
+                }
+            }
+        }
+        TriangleMesh sphere = new TriangleMesh();
+        sphere.getPoints().setAll(points);
+        sphere.getTexCoords().setAll(0, 0);
+        sphere.getFaces().setAll(faces);
+        return sphere;
+    }
+}
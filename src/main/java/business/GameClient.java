@@ -0,0 +1,237 @@
+package business;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Klient herního serveru (GameServer). Drží zrcadlovou kopii GameState, kterou mění
+ * jen podle přijatých událostí (stejně jako JournalReplayer) – nic nepočítá sám.
+ * Delty se aplikují přes zadaný Executor; pro JavaFX je to Platform::runLater,
+ * takže HUD a deska se mění na FX vlákně.
+ */
+public class GameClient implements AutoCloseable {
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final Executor applyOn;
+    private final ReentrantLock sendLock = new ReentrantLock();
+    private final Queue<CompletableFuture<Integer>> pendingTurns = new ConcurrentLinkedQueue<>();
+    private final CompletableFuture<GameState> joined = new CompletableFuture<>();
+    private GameEventListener listener = GameEventListener.NONE;
+    private volatile OfferListener offerListener = (tile, upgrade) -> decide(false);
+    private GameState state;
+
+    private GameClient(Socket socket, Executor applyOn) throws IOException {
+        this.socket = socket;
+        this.applyOn = applyOn;
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 512));
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 512));
+        Thread.ofVirtual().name("client-" + socket.getLocalPort()).start(this::readLoop);
+    }
+
+    public static GameClient connect(int port, Executor applyOn) {
+        try {
+            Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true);
+            return new GameClient(socket, applyOn);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze se připojit k serveru na portu " + port, e);
+        }
+    }
+
+    /**
+     * Posluchač aplikovaných delt – volá se po změně zrcadla, na vlákně applyOn.
+     */
+    public void addListener(GameEventListener l) {
+        listener = GameEventListener.combine(listener, l);
+    }
+
+    /**
+     * Nabídka nemovitosti v tahu s FLAG_ASK – volá se na vlákně applyOn, až jsou v zrcadle
+     * události tahu před ní. Odpověď se posílá přes decide.
+     */
+    public interface OfferListener {
+        void onOffer(int tile, boolean upgrade);
+    }
+
+    /**
+     * Kdo odpovídá na nabídky; výchozí posluchač vše odmítne.
+     */
+    public void setOfferListener(OfferListener l) {
+        offerListener = l;
+    }
+
+    /**
+     * Připojí se ke stolu (nový stůl založí s danými hráči a seedem) a počká na snapshot.
+     * Spojení hraje za všechny zadané hráče (hot-seat); bez jmen je jen divák.
+     */
+    public GameState join(String table, List<String> playerNames, long seed) {
+        List<Integer> seats = new ArrayList<>(playerNames.size());
+        for (int i = 0; i < playerNames.size(); i++) {
+            seats.add(i);
+        }
+        return join(table, playerNames, seed, seats);
+    }
+
+    /**
+     * Připojí se ke stolu a obsadí místa seats (indexy hráčů) – server pak přijme TURN
+     * jen za ně. Obsazené místo skončí chybou serveru.
+     */
+    public GameState join(String table, List<String> playerNames, long seed, List<Integer> seats) {
+        send(o -> {
+            o.writeByte(GameServer.JOIN);
+            o.writeUTF(table);
+            o.writeShort(playerNames.size());
+            for (String name : playerNames) {
+                o.writeUTF(name);
+            }
+            o.writeLong(seed);
+            o.writeShort(seats.size());
+            for (int seat : seats) {
+                o.writeShort(seat);
+            }
+        });
+        return joined.join();
+    }
+
+    /**
+     * Požádá server o tah hráče na tahu. Future skončí s počtem událostí tahu,
+     * až budou aplikované do zrcadla.
+     */
+    public CompletableFuture<Integer> playTurn(int flags) {
+        CompletableFuture<Integer> done = new CompletableFuture<>();
+        pendingTurns.add(done);
+        send(o -> {
+            o.writeByte(GameServer.TURN);
+            o.writeByte(flags);
+        });
+        return done;
+    }
+
+    /**
+     * Odpověď na poslední nabídku (OFFER): true = koupit / vylepšit.
+     */
+    public void decide(boolean act) {
+        send(o -> {
+            o.writeByte(GameServer.DECIDE);
+            o.writeByte(act ? 1 : 0);
+        });
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    @Override
+    public void close() {
+        try {
+            send(o -> o.writeByte(GameServer.LEAVE));
+        } catch (UncheckedIOException e) {
+            // server už spojení zavřel
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // už zavřeno
+        }
+    }
+
+    private interface Command {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private void send(Command command) {
+        sendLock.lock();
+        try {
+            command.write(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze odeslat příkaz serveru", e);
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void readLoop() {
+        try {
+            while (true) {
+                byte kind = in.readByte();
+                switch (kind) {
+                    case GameServer.SNAPSHOT -> {
+                        byte[] snapshot = new byte[in.readInt()];
+                        in.readFully(snapshot);
+                        // zrcadlo ještě nikdo nevidí, takže se staví rovnou tady (join může čekat i na FX vlákně)
+                        state = new SnapshotView(ByteBuffer.wrap(snapshot), 0).toGameState();
+                        joined.complete(state);
+                    }
+                    case GameServer.EVENTS -> {
+                        boolean reply = in.readByte() == 1;
+                        int count = in.readInt();
+                        byte[] records = new byte[count * EventJournal.RECORD_SIZE];
+                        in.readFully(records);
+                        CompletableFuture<Integer> done = reply ? pendingTurns.poll() : null;
+                        applyOn.execute(() -> {
+                            applyEvents(ByteBuffer.wrap(records), count);
+                            if (done != null) {
+                                done.complete(count);
+                            }
+                        });
+                    }
+                    case GameServer.OFFER -> {
+                        int tile = in.readUnsignedShort();
+                        boolean upgrade = in.readByte() == 1;
+                        // až po předchozích deltách – nabídka se ukáže nad aktuální deskou
+                        applyOn.execute(() -> offerListener.onOffer(tile, upgrade));
+                    }
+                    case GameServer.ERROR -> {
+                        IllegalStateException error = new IllegalStateException(in.readUTF());
+                        joined.completeExceptionally(error);
+                        CompletableFuture<Integer> pending = pendingTurns.poll();
+                        if (pending != null) {
+                            pending.completeExceptionally(error);
+                        }
+                    }
+                    default -> throw new IOException("Neznámá zpráva serveru " + kind);
+                }
+            }
+        } catch (EOFException e) {
+            // server spojení ukončil
+        } catch (IOException e) {
+            if (!socket.isClosed()) {
+                System.err.println("Spojení se serverem ukončeno: " + e.getMessage());
+            }
+        } finally {
+            IllegalStateException closed = new IllegalStateException("Spojení se serverem je ukončeno");
+            joined.completeExceptionally(closed);
+            pendingTurns.forEach(f -> f.completeExceptionally(closed));
+        }
+    }
+
+    private void applyEvents(ByteBuffer records, int count) {
+        for (int i = 0; i < count; i++) {
+            GameEventType type = GameEventType.of(records.get());
+            records.get();
+            int player = records.getShort();
+            int a = records.getInt();
+            int b = records.getInt();
+            JournalReplayer.apply(state, type, player, a, b);
+            listener.onEvent(type, player, a, b);
+        }
+    }
+}
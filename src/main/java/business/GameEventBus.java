@@ -0,0 +1,164 @@
+package business;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronní sběrnice herních událostí. Vlákno hry zapisuje události do předalokovaného
+ * kruhového bufferu (jeden zapisovatel, bez zámků, bez alokace – dvě čísla long na událost)
+ * a každý odběratel je čte na vlastním virtuálním vlákně svým tempem. Pomalý odběratel
+ * (soubor, UI, síť) tak simulaci nebrzdí, dokud nezaostane o celou kapacitu – pak zapisovatel
+ * počká, žádná událost se neztratí.
+ *
+ * Zapisovatel smí být v každém okamžiku jen jeden. Střídání vláken (FX vlákno a turbo)
+ * je v pořádku, pokud mezi nimi vede happens-before (start vlákna, Platform.runLater).
+ */
+public final class GameEventBus implements GameEventListener, AutoCloseable {
+
+    /**
+     * Odběratel sběrnice. Události dostává po dávkách na vlastním vlákně.
+     */
+    public interface Subscriber extends GameEventListener {
+        /** Dávka zpracována – místo pro flush nebo překreslení (ne po každé události). */
+        default void endOfBatch() {
+        }
+    }
+
+    private final int mask;
+    private final long[] slots;                              // [2 * (sekvence & mask)] = typ | hráč, a | b
+    private final AtomicLong published = new AtomicLong();   // počet zapsaných událostí
+    private final List<Consumer> consumers = new CopyOnWriteArrayList<>();
+    private long next = 0;       // jen zapisovatel
+    private long cachedMin = 0;  // jen zapisovatel: nejpomalejší odběratel při poslední kontrole
+    private volatile boolean closed = false;
+    private volatile long stalls = 0;
+
+    /**
+     * @param capacity počet událostí v bufferu, mocnina dvou
+     */
+    public GameEventBus(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Kapacita sběrnice musí být mocnina dvou: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.slots = new long[2 * capacity];
+    }
+
+    /**
+     * Přihlásí odběratele – dostane události zapsané od této chvíle.
+     */
+    public void subscribe(String name, Subscriber subscriber) {
+        if (closed) {
+            throw new IllegalStateException("Sběrnice je zavřená");
+        }
+        Consumer consumer = new Consumer(name, subscriber, published.get());
+        consumers.add(consumer);
+        consumer.thread = Thread.ofVirtual().name("bus-" + name).start(consumer);
+    }
+
+    @Override
+    public void onEvent(GameEventType type, int player, int a, int b) {
+        long seq = next;
+        if (seq - cachedMin > mask) {
+            awaitCapacity(seq);
+        }
+        int slot = (int) (seq & mask) << 1;
+        slots[slot] = (long) type.ordinal() << 32 | player & 0xFFFFFFFFL;
+        slots[slot + 1] = (long) a << 32 | b & 0xFFFFFFFFL;
+        next = seq + 1;
+        published.lazySet(next); // release: zápis slotu je vidět dřív než nová sekvence
+    }
+
+    /**
+     * Kolikrát musel zapisovatel čekat na pomalého odběratele.
+     */
+    public long getStalls() {
+        return stalls;
+    }
+
+    /**
+     * Nepřijímá další odběratele, nechá stávající dočíst všechno zapsané a počká na ně.
+     * Volá zapisovatel po poslední události.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Consumer c : consumers) {
+            LockSupport.unpark(c.thread); // probudí spícího odběratele (interrupt by zavřel jeho kanály)
+        }
+        for (Consumer c : consumers) {
+            try {
+                c.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void awaitCapacity(long seq) {
+        stalls++;
+        while (true) {
+            long min = next;
+            for (Consumer c : consumers) {
+                min = Math.min(min, c.sequence.get());
+            }
+            cachedMin = min;
+            if (seq - cachedMin <= mask) {
+                return;
+            }
+            LockSupport.parkNanos(20_000);
+        }
+    }
+
+    /**
+     * Čtecí strana jednoho odběratele: vlastní sekvence, vlastní vlákno.
+     */
+    private final class Consumer implements Runnable {
+        private final String name;
+        private final Subscriber subscriber;
+        private final AtomicLong sequence; // počet přečtených událostí
+        private Thread thread;
+
+        Consumer(String name, Subscriber subscriber, long start) {
+            this.name = name;
+            this.subscriber = subscriber;
+            this.sequence = new AtomicLong(start);
+        }
+
+        @Override
+        public void run() {
+            long seq = sequence.get();
+            int idle = 0;
+            try {
+                while (true) {
+                    boolean done = closed; // číst před published – po zavření už nic nepřibude
+                    long available = published.get();
+                    if (seq < available) {
+                        for (; seq < available; seq++) {
+                            int slot = (int) (seq & mask) << 1;
+                            long head = slots[slot];
+                            long payload = slots[slot + 1];
+                            subscriber.onEvent(GameEventType.of((int) (head >>> 32)), (int) head,
+                                    (int) (payload >>> 32), (int) payload);
+                        }
+                        sequence.lazySet(seq);
+                        subscriber.endOfBatch();
+                        idle = 0;
+                    } else if (done) {
+                        return;
+                    } else {
+                        // krátce čeká častěji, po delší nečinnosti spí déle
+                        LockSupport.parkNanos(idle++ < 64 ? 50_000 : 1_000_000);
+                    }
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Odběratel " + name + " skončil chybou: " + e);
+            } finally {
+                consumers.remove(this); // zapisovatel na něj už nesmí čekat
+            }
+        }
+    }
+}
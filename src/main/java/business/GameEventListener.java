@@ -0,0 +1,23 @@
+package business;
+
+/**
+ * Posluchač herních událostí. Payload jsou jen primitivní hodnoty (viz GameEventType),
+ * takže vyslání události nic nealokuje ani neformátuje.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+
+    GameEventListener NONE = (type, player, a, b) -> {
+    };
+
+    void onEvent(GameEventType type, int player, int a, int b);
+
+    static GameEventListener combine(GameEventListener first, GameEventListener second) {
+        if (first == NONE) return second;
+        if (second == NONE) return first;
+        return (type, player, a, b) -> {
+            first.onEvent(type, player, a, b);
+            second.onEvent(type, player, a, b);
+        };
+    }
+}
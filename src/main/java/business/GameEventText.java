@@ -0,0 +1,30 @@
+package business;
+
+/**
+ * Text herní události pro log (UI, soubor). Čte jen neměnné údaje hry – jména hráčů,
+ * názvy polí a texty karet – takže ho smí volat i odběratel sběrnice na jiném vlákně.
+ * Řetězec vzniká až tady, ne při vyslání události.
+ */
+public final class GameEventText {
+
+    private GameEventText() {
+    }
+
+    public static String describe(GameState state, GameEventType type, int player, int a, int b) {
+        String name = state.getPlayers().get(player).getName();
+        return switch (type) {
+            case TURN -> "Na tahu je " + name + ".";
+            case ROLL -> name + " hodil " + a + ".";
+            case MOVE -> name + " stoupl na " + state.getTiles().get(a).getName() + ".";
+            case BUY -> name + " koupil " + state.getTiles().get(a).getName() + " za " + b + " Kč.";
+            case UPGRADE -> name + " vylepšil " + state.getTiles().get(a).getName() + " za " + b + " Kč.";
+            case RENT -> name + " platí nájem " + b + " Kč za " + state.getTiles().get(a).getName() + ".";
+            case TAX -> name + " platí daň " + a + " Kč.";
+            case START_BONUS -> name + " dostal " + a + " Kč za START.";
+            case CARD -> name + ": " + state.getDeck().getCard(a).getMessage();
+            case JAIL -> name + " jde do vězení.";
+            case JAIL_TURN -> name + " sedí ve vězení.";
+            case BANKRUPT -> name + " zkrachoval!";
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package business;
+
+/**
+ * Druhy herních událostí. Každá událost nese hráče a dvě celá čísla (a, b):
+ * <pre>
+ * TURN        a = index hráče na tahu
+ * ROLL        a = hozené číslo
+ * MOVE        a = nová pozice
+ * BUY         a = pole, b = cena
+ * UPGRADE     a = pole, b = cena vylepšení
+ * RENT        a = pole, b = nájem (platí hráč majiteli pole)
+ * TAX         a = částka
+ * START_BONUS a = částka
+ * CARD        a = index karty v balíčku (CardDeck.getCard)
+ * JAIL        hráč jde do vězení (pole DO_VEZENI)
+ * JAIL_TURN   hráč odsedí jeden tah
+ * BANKRUPT    hráč zkrachoval (důsledek předchozí události)
+ * </pre>
+ */
+public enum GameEventType {
+    TURN,
+    ROLL,
+    MOVE,
+    BUY,
+    UPGRADE,
+    RENT,
+    TAX,
+    START_BONUS,
+    CARD,
+    JAIL,
+    JAIL_TURN,
+    BANKRUPT;
+
+    private static final GameEventType[] VALUES = values();
+
+    public static GameEventType of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,86 @@
+package business;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Neomezené undo/redo nad stromem verzí (GameVersion) jedné hry. Po undo a novém tahu
+ * vznikne větev – původní pokračování nezmizí, redo vede do naposledy použité větve
+ * a ostatní jsou v getBranches.
+ */
+public final class GameHistory {
+
+    private final GameState state;
+    private final Map<GameVersion, List<GameVersion>> children = new IdentityHashMap<>();
+    private final Map<GameVersion, GameVersion> lastChild = new IdentityHashMap<>();
+    private GameVersion current;
+
+    public GameHistory(GameState state) {
+        this.state = state;
+        this.current = state.commitVersion();
+    }
+
+    /**
+     * Uloží aktuální stav hry jako další krok historie (po každém tahu).
+     */
+    public GameVersion record() {
+        GameVersion version = state.commitVersion();
+        if (version != current) {
+            children.computeIfAbsent(current, v -> new ArrayList<>()).add(version);
+            lastChild.put(current, version);
+            current = version;
+        }
+        return current;
+    }
+
+    public boolean canUndo() {
+        return current.getParent() != null;
+    }
+
+    public boolean canRedo() {
+        return lastChild.containsKey(current);
+    }
+
+    public GameVersion undo() {
+        record();
+        if (!canUndo()) {
+            throw new IllegalStateException("Není co vrátit");
+        }
+        return jumpTo(current.getParent());
+    }
+
+    public GameVersion redo() {
+        record();
+        if (!canRedo()) {
+            throw new IllegalStateException("Není co zopakovat");
+        }
+        return jumpTo(lastChild.get(current));
+    }
+
+    /**
+     * Přepne hru do libovolné verze této historie (např. jiné větve z getBranches).
+     */
+    public GameVersion jumpTo(GameVersion version) {
+        record(); // neuložené změny by se jinak ztratily
+        GameVersion parent = version.getParent();
+        if (parent != null) {
+            lastChild.put(parent, version); // redo z rodiče povede sem
+        }
+        state.restoreVersion(version);
+        current = version;
+        return current;
+    }
+
+    /**
+     * Všechna pokračování z aktuální verze, v pořadí vzniku.
+     */
+    public List<GameVersion> getBranches() {
+        return List.copyOf(children.getOrDefault(current, List.of()));
+    }
+
+    public GameVersion getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,15 @@
+package business;
+
+/**
+ * Výsledek jedné odehrané (headless) hry.
+ *
+ * @param winnerId        id vítěze, nebo -1 pokud hra narazila na limit tahů
+ * @param turns           počet odehraných tahů
+ * @param bankruptcyTurns tah, ve kterém hráč zkrachoval (0 = nezkrachoval), indexováno id hráče
+ */
+public record GameResult(int winnerId, int turns, int[] bankruptcyTurns) {
+
+    public boolean hasWinner() {
+        return winnerId >= 0;
+    }
+}
@@ -0,0 +1,110 @@
+package business;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Pravidla tahu bez jakékoli vazby na JavaFX – sdílí je GameScene
+ * (animovaná hra) i headless simulace (TurnEngine).
+ */
+public final class GameRules {
+
+    public static final int DICE_SIDES = 6;
+
+    private GameRules() {
+    }
+
+    public static int rollDice(RandomGenerator random) {
+        return random.nextInt(DICE_SIDES) + 1;
+    }
+
+    /**
+     * Hod kostkou hráče na tahu z generátoru hry.
+     */
+    public static int rollDice(GameState state) {
+        int roll = rollDice(state.getRandom());
+        state.emit(GameEventType.ROLL, state.getCurrentPlayerIndex(), roll, 0);
+        return roll;
+    }
+
+    public static void move(Player player, int steps, GameState state) {
+        player.move(steps);
+        state.emit(GameEventType.MOVE, player.getId(), player.getPosition(), 0);
+    }
+
+    public static void jailTurn(Player player, GameState state) {
+        player.jailTurn();
+        state.emit(GameEventType.JAIL_TURN, player.getId(), 0, 0);
+    }
+
+    /**
+     * Efekt pole, které není nemovitost, podle tabulky pravidel (RuleSet) – platba, výplata, vězení, karta.
+     * U karet vrací vytaženou kartu, jinak null.
+     */
+    public static ChanceCard applyTile(Player player, Tile tile, GameState state) {
+        int id = player.getId();
+        RuleSet rules = state.getRules();
+        TileType type = tile.getType();
+        switch (rules.getEffect(type)) {
+            case PAY -> {
+                int amount = rules.getAmount(type);
+                state.emit(GameEventType.TAX, id, amount, 0);
+                player.subtractMoney(amount);
+            }
+            case GAIN -> {
+                int amount = rules.getAmount(type);
+                state.emit(GameEventType.START_BONUS, id, amount, 0);
+                player.addMoney(amount);
+            }
+            case JAIL -> {
+                state.emit(GameEventType.JAIL, id, 0, 0);
+                player.goToJail();
+            }
+            case CARD -> {
+                int index = state.getDeck().drawIndex();
+                ChanceCard card = state.getDeck().getCard(index);
+                state.emit(GameEventType.CARD, id, index, 0);
+                card.apply(player, state);
+                return card;
+            }
+            case NONE -> {
+            }
+        }
+        return null;
+    }
+
+    public static boolean canBuy(Player player, Tile tile) {
+        return tile.getType() == TileType.NEMOVITOST && !tile.isOwned() && player.getMoney() >= tile.getPrice();
+    }
+
+    public static void buy(Player player, Tile tile, GameState state) {
+        state.emit(GameEventType.BUY, player.getId(), tile.getIndex(), tile.getPrice());
+        tile.setOwner(player);
+        player.buyProperty(tile);
+        player.subtractMoney(tile.getPrice());
+    }
+
+    public static boolean canUpgrade(Player player, Tile tile) {
+        return tile.getOwner() == player && tile.canUpgrade() && player.getMoney() >= tile.getUpgradeCost();
+    }
+
+    public static void upgrade(Player player, Tile tile, GameState state) {
+        state.emit(GameEventType.UPGRADE, player.getId(), tile.getIndex(), tile.getUpgradeCost());
+        player.subtractMoney(tile.getUpgradeCost());
+        tile.upgrade();
+    }
+
+    /**
+     * Nájem za cizí nemovitost. Vrací zaplacenou částku (0, pokud se neplatí).
+     */
+    public static int payRent(Player player, Tile tile, GameState state) {
+        Player owner = tile.getOwner();
+        if (owner == null || owner == player || owner.isBankrupt()) {
+            return 0;
+        }
+        int rent = tile.getRent();
+        state.emit(GameEventType.RENT, player.getId(), tile.getIndex(), rent);
+        player.subtractMoney(rent);
+        owner.addMoney(rent);
+        return rent;
+    }
+}
@@ -4,66 +4,235 @@ import javafx.animation.KeyFrame;
 import javafx.animation.SequentialTransition;
 import javafx.animation.Timeline;
 import javafx.animation.TranslateTransition;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.*;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.Spinner;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.PhongMaterial;
-import javafx.scene.shape.Box;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Translate;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 import javafx.util.Duration;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 public class GameScene {
 
+    private static final int EVENT_BUS_CAPACITY = 4096;
+    private static final int EVENT_LOG_LINES = 4;
+
     private final Scene scene;
     private final GameState gameState;
-    private final Random random = new Random();
+    private final TurnFlow flow;     // kroky tahu bez FX (stejné jako DesyncChecker.sceneLane)
+    private final GameClient client; // null = lokální hra, jinak stav drží server
+    private final boolean[] bots;     // hráči, za které rozhoduje počítač
+    private final MctsPolicy botPolicy = new MctsPolicy();
+    // rozpočet botů v turbu: -Dbusiness.turboBotMillis=<ms>
+    private final MctsPolicy turboPolicy = new MctsPolicy(
+            Long.getLong("business.turboBotMillis", MctsPolicy.TURBO_BUDGET_MILLIS),
+            ForkJoinPool.commonPool(), new SplittableRandom());
+    private boolean turnInProgress = false; // běží animace tahu nebo je otevřená nabídka
+    private boolean turboRunning = false;
+    private final GameHistory history; // undo/redo – jen lokální hra bez žurnálu, jinak null
+    private final SpectatorFeed spectators; // přenos pro diváky (-Dbusiness.spectators=<port>), jinak null
+    private final Button undoBtn = new Button("↶ Zpět");
+    private final Button redoBtn = new Button("↷ Znovu");
+    private final Random animationRandom = new Random(); // jen "točící se" čísla, hra má vlastní generátor
 
     // Kostka (slot-machine animace)
     private final Label rollingNumber = new Label("?");
     // Log větší, tučný, zarovnaný pod tlačítkem
     private final Label logLabel = new Label("Hra začíná!");
+    private final Label eventLog = new Label(); // posledních pár událostí ze sběrnice (i během turba)
+    private final GameEventBus eventBus = new GameEventBus(EVENT_BUS_CAPACITY);
+    private final EventStats eventStats = new EventStats();
 
-    private final VBox playerStats = new VBox(5);
+    private final PlayerHud hud;
     private final Group root3D = new Group();
     private final StackPane root = new StackPane();
 
-    private final List<Label> cornerLabels = new ArrayList<>();
-    private Box highlightBox = null;
+    private final BoardView boardView;
+    private final PerformanceOverlay perfOverlay;
+
+    /**
+     * Co jde připravit mimo FX vlákno: stav hry (případně připojení k serveru) a data sítě desky.
+     */
+    public record Prepared(GameState state, GameClient client, BoardMesh mesh) {
+    }
 
     public GameScene(Stage stage, List<String> playerNames) {
-        // 1) GameState
-        gameState = new GameState(playerNames);
+        this(stage, playerNames, List.of());
+    }
+
+    /**
+     * @param bots pro každého hráče, zda za něj v nabídce nemovitosti rozhoduje počítač (MctsPolicy)
+     */
+    public GameScene(Stage stage, List<String> playerNames, List<Boolean> bots) {
+        this(stage, prepare(playerNames, new StartupTimer()), bots);
+    }
+
+    /**
+     * Postupný start: hned ukáže úvodní obrazovku, stav a síť desky připraví na pozadí
+     * a hotovou scénu připojí, až bude připravená. Časy fází ukáže panel F3 (PerformanceOverlay).
+     */
+    public static void show(Stage stage, List<String> playerNames, List<Boolean> bots) {
+        StartupTimer timer = new StartupTimer();
+        ProgressIndicator progress = new ProgressIndicator();
+        Label loading = new Label("Připravuji hru...");
+        loading.setStyle("-fx-font-size: 24px; -fx-text-fill: white;");
+        VBox placeholder = new VBox(20, progress, loading);
+        placeholder.setAlignment(Pos.CENTER);
+        placeholder.setStyle("-fx-background-color: lightblue;");
+        stage.setScene(new Scene(placeholder, 1920, 1080));
+        stage.setFullScreen(true);
+        timer.mark("úvodní obrazovka");
+
+        CompletableFuture.supplyAsync(() -> prepare(playerNames, timer))
+                .whenComplete((prepared, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        progress.setVisible(false);
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        loading.setText("Hru nelze spustit: " + cause.getMessage());
+                        return;
+                    }
+                    GameScene game = new GameScene(stage, prepared, bots);
+                    Scene scene = game.getScene();
+                    timer.mark("scéna (FX vlákno)");
+                    scene.addPostLayoutPulseListener(new Runnable() {
+                        @Override
+                        public void run() {
+                            scene.removePostLayoutPulseListener(this);
+                            timer.mark("první pulz s deskou");
+                            game.perfOverlay.setStartupReport(timer.report()); // vidět v panelu F3
+                        }
+                    });
+                }));
+    }
+
+    /**
+     * Část startu bez JavaFX uzlů – smí běžet na libovolném vlákně.
+     */
+    public static Prepared prepare(List<String> playerNames, StartupTimer timer) {
+        // GameState (nebo hra na serveru: -Dbusiness.server=<port> [-Dbusiness.table=<stůl>])
+        GameClient client = null;
+        GameState state;
+        String serverPort = System.getProperty("business.server");
+        if (serverPort != null) {
+            client = GameClient.connect(Integer.parseInt(serverPort), Platform::runLater);
+            state = client.join(System.getProperty("business.table", "stůl"), playerNames, System.nanoTime());
+        } else {
+            // velikost desky: -Dbusiness.board=<počet polí> (např. 2000 jako zátěžová deska)
+            // pravidla: -Dbusiness.rules=<soubor> (jinak klasická), platí od nové hry
+            RuleSet rules = RuleSet.current();
+            int boardSize = Integer.getInteger("business.board", rules.getBoardSize());
+            state = new GameState(playerNames, new SplittableRandom(), boardSize, rules);
+        }
+        timer.mark("stav hry");
+        BoardMesh mesh = BoardMesh.prepare(state.getTiles(), tile -> BoardUtils.getTileColor(tile.getType()));
+        timer.mark("data sítě desky");
+        return new Prepared(state, client, mesh);
+    }
+
+    public GameScene(Stage stage, Prepared prepared, List<Boolean> bots) {
+        this.bots = new boolean[prepared.state().getPlayers().size()];
+        for (int i = 0; i < bots.size() && i < this.bots.length; i++) {
+            this.bots[i] = bots.get(i);
+        }
+
+        // 1) GameState (+ volitelně žurnál událostí: -Dbusiness.journal=<adresář>)
+        gameState = prepared.state();
+        flow = new TurnFlow(gameState);
+        client = prepared.client();
+        if (client != null) {
+            client.addListener(this::onRemoteEvent);
+            client.setOfferListener(this::onRemoteOffer);
+            stage.setOnHidden(e -> client.close());
+        }
+        // Události jdou přes sběrnici – log, statistiky a žurnál je čtou na svých vláknech
+        if (client != null) {
+            client.addListener(eventBus);
+        } else {
+            gameState.addListener(eventBus);
+        }
+        eventBus.subscribe("log", new EventTicker());
+        eventBus.subscribe("stats", eventStats);
+        String journalDir = System.getProperty("business.journal");
+        EventJournal journal = null;
+        if (journalDir != null && client == null) {
+            journal = EventJournal.create(gameState, Path.of(journalDir, "hra-" + System.currentTimeMillis() + ".btj"));
+            eventBus.subscribe("journal", journal);
+        }
+        EventJournal openJournal = journal;
+        stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> {
+            eventBus.close(); // odběratelé dočtou vše zapsané
+            if (openJournal != null) openJournal.close();
+        });
+        // vrácený tah by žurnál ani server nepoznal – undo jen v lokální hře bez záznamu
+        history = client == null && journalDir == null ? new GameHistory(gameState) : null;
+        // přenos pro diváky: -Dbusiness.spectators=<port> (jen lokální hra, server má vlastní klienty)
+        Integer spectatorPort = Integer.getInteger("business.spectators");
+        if (spectatorPort != null && client == null) {
+            spectators = new SpectatorFeed(gameState, spectatorPort);
+            // události turbo dávky chodí z jiného vlákna a ke stavu kopie – po turbu jde resync
+            gameState.addListener((type, player, a, b) -> {
+                if (Platform.isFxApplicationThread()) {
+                    spectators.onEvent(type, player, a, b);
+                }
+            });
+            stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> spectators.close());
+        } else {
+            spectators = null;
+        }
 
         // 2) Vykreslení 3D
-        BoardUtils.addBoardTiles(root3D, gameState.getTiles());
+        boardView = new BoardView(root3D, gameState.getTiles(), prepared.mesh());
+        // bankrot vrací pole bance – značky vlastníků a domky je třeba srovnat
+        // (události z turbo dávky chodí z jiného vlákna, tu překreslí turbo samo)
+        gameState.addListener((type, player, a, b) -> {
+            if (type == GameEventType.BANKRUPT && Platform.isFxApplicationThread()) {
+                gameState.getTiles().forEach(boardView::update);
+            }
+        });
         BoardUtils.addLighting(root3D);
         for (Player p : gameState.getPlayers()) {
             root3D.getChildren().add(p.getFigure());
         }
         BoardUtils.positionPlayers(gameState.getPlayers(), gameState);
 
-        // Kamera + SubScene
+        // Kamera + SubScene (větší deska => kamera úměrně dál, kolečko přibližuje, pravé tlačítko posouvá)
+        double boardScale = BoardUtils.boardScale(gameState.getBoardSize());
         PerspectiveCamera camera = new PerspectiveCamera(true);
         camera.setFieldOfView(25);
-        camera.setNearClip(0.1);
-        camera.setFarClip(5000);
+        camera.setNearClip(0.1 * boardScale);
+        camera.setFarClip(5000 * boardScale);
+        Translate cameraPosition = new Translate(0.0, 45.0, -BoardUtils.CAMERA_DISTANCE * boardScale);
         camera.getTransforms().addAll(
                 new Rotate(-6345.6, Rotate.Y_AXIS),
                 new Rotate(4281.8, Rotate.X_AXIS),
-                new Translate(0.0, 45.0, -1500)
+                cameraPosition
         );
         SubScene subScene = new SubScene(root3D, 1920, 1080, true, SceneAntialiasing.BALANCED);
         subScene.setCamera(camera);
+        boardView.watch(camera, subScene);
         subScene.setFill(Color.LIGHTBLUE);
 
         subScene.setPickOnBounds(false); // aby šly klikat overlay prvky
@@ -75,6 +244,9 @@ public class GameScene {
         logLabel.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: white;");
         logLabel.setWrapText(true);
         logLabel.setMaxWidth(600);
+        eventLog.setStyle("-fx-font-size: 13px; -fx-text-fill: #e0f0ff;");
+        eventLog.setMaxWidth(600);
+        eventLog.setMouseTransparent(true);
 
         // Tlačítko
         Button rollBtn = new Button("Hodit kostku");
@@ -88,51 +260,103 @@ public class GameScene {
         """);
         rollBtn.setOnAction(e -> nextTurn());
 
-        // VBox overlay – [ slotNumber, tlačítko, log ]
-        VBox overlay = new VBox(15, rollingNumber, rollBtn, logLabel);
+        // Turbo – N tahů bez animací, pak jedno překreslení
+        Spinner<Integer> turboTurns = new Spinner<>(1, 10_000, 100, 10);
+        turboTurns.setEditable(true);
+        turboTurns.setPrefWidth(100);
+        Button turboBtn = new Button("Turbo");
+        turboBtn.setStyle("-fx-font-size: 16px; -fx-background-color: #9C27B0; -fx-text-fill: white;");
+        turboBtn.setOnAction(e -> runTurbo(turboTurns.getValue(), rollBtn, turboBtn));
+        HBox turboRow = new HBox(10, turboTurns, turboBtn);
+        turboRow.setAlignment(Pos.CENTER);
+        turboRow.setVisible(client == null); // na serveru hraje server
+
+        // Undo/redo po celých tazích (GameHistory)
+        undoBtn.setOnAction(e -> stepHistory(true));
+        redoBtn.setOnAction(e -> stepHistory(false));
+        HBox historyRow = new HBox(10, undoBtn, redoBtn);
+        historyRow.setAlignment(Pos.CENTER);
+        historyRow.setVisible(history != null);
+        updateHistoryButtons();
+
+        // VBox overlay – [ slotNumber, tlačítko, turbo, historie, log, události ]
+        VBox overlay = new VBox(15, rollingNumber, rollBtn, turboRow, historyRow, logLabel, eventLog);
         overlay.setAlignment(Pos.CENTER);
         overlay.setPadding(new Insets(10));
 
-        // Panel se staty hráčů (vpravo nahoře)
-        updatePlayerStats();
-        playerStats.setStyle("-fx-font-size: 14px;");
-        playerStats.setPadding(new Insets(15));
+        // Seznam hráčů (vpravo nahoře, kreslí jen viditelné řádky) + rohové labely – aktualizují se samy
+        hud = new PlayerHud(gameState.getPlayers());
+        ListView<Player> playerStats = hud.getPlayerList();
+        playerStats.setPrefSize(420, Math.min(360, 60 + gameState.getPlayers().size() * 48));
+        playerStats.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
         playerStats.setTranslateX(720);
-        playerStats.setTranslateY(-360);
+        playerStats.setTranslateY(-330);
+        hud.setCurrentPlayer(gameState.getCurrentPlayerIndex());
+        // hráč na tahu (události turbo dávky chodí z jiného vlákna, tu srovná turbo na konci)
+        gameState.addListener((type, player, a, b) -> {
+            if (type == GameEventType.TURN && Platform.isFxApplicationThread()) {
+                hud.setCurrentPlayer(a);
+                if (history != null) {
+                    history.record(); // každý dokončený tah je nová verze
+                    updateHistoryButtons();
+                }
+            }
+        });
 
         // root
         root.getChildren().addAll(subScene, overlay, playerStats);
+        root.getChildren().addAll(hud.getCornerLabels());
 
-        // Rohové labely
-        for (int i = 0; i < gameState.getPlayers().size(); i++) {
-            Label cornerLabel = new Label();
-            cornerLabel.setStyle("""
-                -fx-font-size: 16px;
-                -fx-background-color: rgba(0,0,0,0.7);
-                -fx-text-fill: white;
-                -fx-padding: 8px;
-            """);
-            cornerLabels.add(cornerLabel);
-
-            switch (i) {
-                case 0 -> StackPane.setAlignment(cornerLabel, Pos.TOP_LEFT);
-                case 1 -> StackPane.setAlignment(cornerLabel, Pos.TOP_RIGHT);
-                case 2 -> StackPane.setAlignment(cornerLabel, Pos.BOTTOM_LEFT);
-                case 3 -> StackPane.setAlignment(cornerLabel, Pos.BOTTOM_RIGHT);
-            }
-            root.getChildren().add(cornerLabel);
-        }
+        // Diagnostika (F3)
+        perfOverlay = new PerformanceOverlay(root3D);
+        perfOverlay.setEventStats(eventStats);
+        root.getChildren().add(perfOverlay.getNode());
 
         scene = new Scene(root, 1920, 1080, true);
+        scene.addEventHandler(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.F3) {
+                perfOverlay.toggle();
+            }
+        });
+        installCameraControls(camera, cameraPosition, boardScale);
+        scene.getStylesheets().add(GameScene.class.getResource("hud.css").toExternalForm());
         subScene.toBack();
         overlay.toFront();
         playerStats.toFront();
-        cornerLabels.forEach(Node::toFront);
+        hud.getCornerLabels().forEach(Node::toFront);
 
         stage.setScene(scene);
         stage.setFullScreen(true);
     }
 
+    /**
+     * Kolečko myši přibližuje (posun kamery po ose pohledu), tažení pravým tlačítkem posouvá
+     * kamerou v rovině obrazu. BoardView na pohyb kamery reaguje ořezem a volbou detailu.
+     */
+    private void installCameraControls(PerspectiveCamera camera, Translate position, double boardScale) {
+        double minDistance = BoardUtils.CAMERA_DISTANCE / 10;
+        double maxDistance = BoardUtils.CAMERA_DISTANCE * boardScale * 2;
+        scene.addEventHandler(ScrollEvent.SCROLL, e -> {
+            double distance = -position.getZ() * (e.getDeltaY() > 0 ? 0.85 : 1 / 0.85);
+            position.setZ(-Math.max(minDistance, Math.min(maxDistance, distance)));
+        });
+        double[] last = new double[2];
+        scene.addEventHandler(MouseEvent.MOUSE_PRESSED, e -> {
+            last[0] = e.getSceneX();
+            last[1] = e.getSceneY();
+        });
+        scene.addEventHandler(MouseEvent.MOUSE_DRAGGED, e -> {
+            if (!e.isSecondaryButtonDown()) return;
+            // jednotek scény na pixel ve vzdálenosti desky
+            double perPixel = 2 * -position.getZ() * Math.tan(Math.toRadians(camera.getFieldOfView()) / 2)
+                    / scene.getHeight();
+            position.setX(position.getX() - (e.getSceneX() - last[0]) * perPixel);
+            position.setY(position.getY() - (e.getSceneY() - last[1]) * perPixel);
+            last[0] = e.getSceneX();
+            last[1] = e.getSceneY();
+        });
+    }
+
     /**
      * Spustí slot-machine animaci kostky a poté tile-by-tile pohyb.
      */
@@ -143,31 +367,55 @@ public class GameScene {
             logLabel.setText("Vítězí " + winner.getName() + " se zůstatkem " + winner.getMoney() + " Kč!");
             return;
         }
-        Player player = gameState.getCurrentPlayer();
-        if (player.isBankrupt()) {
-            logLabel.setText(player.getName() + " je vyřazen.");
-            gameState.nextPlayer();
+        if (client != null) {
+            // tah odehraje server, scéna jen vykreslí přijaté delty (onRemoteEvent)
+            // a nabídku nemovitosti (onRemoteOffer), o které rozhodne hráč
+            if (turnInProgress) {
+                return;
+            }
+            turnInProgress = true;
+            client.playTurn(GameServer.FLAG_ASK).whenComplete((count, error) -> Platform.runLater(() -> {
+                turnInProgress = false;
+                if (error != null) {
+                    logLabel.setText(error.getMessage());
+                }
+            }));
             return;
         }
-        if (player.isInJail()) {
-            player.jailTurn();
-            logLabel.setText(player.getName() + " je ve vězení. Zbývá " + (player.isInJail() ? "další tah." : "volný!"));
-            gameState.nextPlayer();
+        if (turnInProgress || turboRunning) {
             return;
         }
+        Player player = gameState.getCurrentPlayer();
+        switch (flow.begin()) {
+            case FINISHED -> {
+                return;
+            }
+            case BANKRUPT -> {
+                logLabel.setText(player.getName() + " je vyřazen.");
+                return;
+            }
+            case JAIL -> {
+                logLabel.setText(player.getName() + " je ve vězení. Zbývá " + (player.isInJail() ? "další tah." : "volný!"));
+                return;
+            }
+            case ROLL -> {
+            }
+        }
 
+        turnInProgress = true;
         rollingNumber.setText("?");
         final int steps = 10;
         Timeline timeline = new Timeline();
         for (int i = 0; i < steps; i++) {
             KeyFrame kf = new KeyFrame(Duration.millis((i+1)*100), e -> {
-                int fake = random.nextInt(6)+1;
+                int fake = animationRandom.nextInt(6)+1;
                 rollingNumber.setText(String.valueOf(fake));
             });
             timeline.getKeyFrames().add(kf);
         }
+        perfOverlay.track(timeline);
         timeline.setOnFinished(e -> {
-            int finalRoll = random.nextInt(6)+1;
+            int finalRoll = flow.roll();
             rollingNumber.setText(String.valueOf(finalRoll));
 
             doDiceResult(finalRoll);
@@ -192,12 +440,17 @@ public class GameScene {
             Tile tile = gameState.getTileAt(newPos);
             BoardUtils.positionPlayers(gameState.getPlayers(), gameState);
 
-            if (tile.getType() == TileType.NEMOVITOST) {
-                showPropertyMenu(player, tile);
-            } else {
-                handleTile(player, tile);
-                updatePlayerStats();
-                gameState.nextPlayer();
+            switch (flow.land(player)) {
+                case BUY -> showPropertyMenu(player, tile, false, act -> resolveOffer(player, tile, false, act));
+                case UPGRADE -> showPropertyMenu(player, tile, true, act -> resolveOffer(player, tile, true, act));
+                case RENT -> {
+                    logRent(player, tile, flow.getRent());
+                    endTurn();
+                }
+                case TILE -> {
+                    logTile(player, tile, flow.getCard());
+                    endTurn();
+                }
             }
         });
     }
@@ -210,7 +463,7 @@ public class GameScene {
         // Zjistíme, zda jdeme dopředu nebo dozadu:
         // V Player je logika, jestli position roste či klesá (možná).
         // Tady budeme "ručně" krokovat. Předpokládám, že v Player se pohyb standardně
-        // dělá (pos - roll + 40)%40 => proti směru. Můžeš upravit:
+        // dělá (pos - roll) mod velikost desky => proti směru. Můžeš upravit:
 
         // Nebudeme teď měnit player.position najednou,
         // ale pohneme se "krok-za-krokem" v animaci a player se aktualizuje postupně.
@@ -220,55 +473,33 @@ public class GameScene {
         for (int i = 0; i < steps; i++) {
             // 1 krok
             // posun v Player
-            player.move(1); // voláme move(1) => posune se o 1 pole
+            flow.step(player); // posune se o 1 pole
             int newPos = player.getPosition();
 
             // spočítáme souřadnice
-            double[] pos = BoardUtils.getTilePosition(newPos);
+            double[] pos = BoardUtils.getTilePosition(newPos, gameState.getBoardSize());
 
             // TranslateTransition pro 1 krok
             TranslateTransition tt = new TranslateTransition(Duration.seconds(0.3), player.getFigure());
             tt.setToX(pos[0]);
             tt.setToZ(pos[1]);
             // Ve finále highlight
-            tt.setOnFinished(e -> {
-                removeHighlight();
-                highlightTile(newPos);
-            });
+            tt.setOnFinished(e -> boardView.highlight(newPos));
             seq.getChildren().add(tt);
         }
 
         // Po posledním
         seq.setOnFinished(e -> onFinished.run());
+        perfOverlay.track(seq);
 
         seq.play();
     }
 
-    // Odstranění highlight
-    private void removeHighlight() {
-        if (highlightBox != null) {
-            root3D.getChildren().remove(highlightBox);
-            highlightBox = null;
-        }
-    }
-
-    // Zvýrazní dané pole (žlutým poloprůhledným čtvercem)
-    private void highlightTile(int index) {
-        double[] pos = BoardUtils.getTilePosition(index);
-        highlightBox = new Box(BoardUtils.TILE_SIZE * 1.1, 1, BoardUtils.TILE_SIZE * 1.1);
-        highlightBox.setTranslateX(pos[0]);
-        highlightBox.setTranslateZ(pos[1]);
-        highlightBox.setTranslateY(-BoardUtils.TILE_HEIGHT - 0.1);
-
-        PhongMaterial mat = new PhongMaterial(Color.color(1, 1, 0, 0.4));
-        highlightBox.setMaterial(mat);
-        root3D.getChildren().add(highlightBox);
-    }
-
     /**
-     * Hezký malý horizontální panel pro "Nakup" / "Zavřít".
+     * Hezký malý horizontální panel pro "Nakup" / "Zavřít". Volbu (true = koupit / vylepšit)
+     * předá do choice – lokálně ji provede resolveOffer, ve hře na serveru jde serveru.
      */
-    private void showPropertyMenu(Player player, Tile tile) {
+    private void showPropertyMenu(Player player, Tile tile, boolean upgrade, Consumer<Boolean> choice) {
         HBox menu = new HBox(20);
         menu.setPadding(new Insets(15));
         menu.setStyle("""
@@ -316,9 +547,7 @@ public class GameScene {
         """);
         closeBtn.setOnAction(e -> {
             root.getChildren().remove(menu);
-            logLabel.setText(player.getName() + " odmítl akci na poli.");
-            updatePlayerStats();
-            gameState.nextPlayer();
+            choice.accept(false);
         });
 
         btnPart.getChildren().addAll(actionBtn, closeBtn);
@@ -326,31 +555,17 @@ public class GameScene {
 
         StackPane.setAlignment(menu, Pos.CENTER);
 
-        if (!tile.isOwned()) {
+        actionBtn.setOnAction(e -> {
+            root.getChildren().remove(menu);
+            choice.accept(true);
+        });
+        if (!upgrade) {
             priceLabel.setText("Cena: " + tile.getPrice() + " Kč");
             priceLabel.setTextFill(Color.LIGHTGREEN);
-
             actionBtn.setText("Koupit");
-            actionBtn.setOnAction(e -> {
-                if (player.getMoney() >= tile.getPrice()) {
-                    tile.setOwner(player);
-                    player.buyProperty(tile);
-                    player.subtractMoney(tile.getPrice());
-                    addHouseToBoard(tile);
-                    logLabel.setText(player.getName() + " koupil " + tile.getName());
-                } else {
-                    logLabel.setText(player.getName() + " nemá dost peněz.");
-                }
-                root.getChildren().remove(menu);
-                updatePlayerStats();
-                gameState.nextPlayer();
-            });
-
-        } else if (tile.getOwner() == player && tile.canUpgrade()) {
-            int cost = tile.getUpgradeCost();
-            priceLabel.setText("Upgrade: " + cost + " Kč (úroveň " + tile.getLevel() + ")");
+        } else {
+            priceLabel.setText("Upgrade: " + tile.getUpgradeCost() + " Kč (úroveň " + tile.getLevel() + ")");
             priceLabel.setTextFill(Color.CYAN);
-
             actionBtn.setText("Upgradovat");
             actionBtn.setStyle("""
                 -fx-font-size: 14px;
@@ -360,49 +575,73 @@ public class GameScene {
                 -fx-cursor: hand;
                 -fx-padding: 6 12;
             """);
-            actionBtn.setOnAction(e -> {
-                if (player.getMoney() >= cost) {
-                    player.subtractMoney(cost);
-                    tile.upgrade();
-                    addHouseToBoard(tile);
-                    logLabel.setText(player.getName() + " vylepšil " + tile.getName() + " na úroveň " + tile.getLevel());
-                } else {
-                    logLabel.setText("Nedostatek peněz na upgrade.");
-                }
-                root.getChildren().remove(menu);
-                updatePlayerStats();
-                gameState.nextPlayer();
+        }
+
+        root.getChildren().add(menu);
+
+        if (bots[player.getId()]) {
+            // počítač hledá mimo FX vlákno, pak "klikne" za hráče
+            actionBtn.setDisable(true);
+            closeBtn.setDisable(true);
+            logLabel.setText(player.getName() + " přemýšlí...");
+            Thread.ofVirtual().name("bot-" + player.getName()).start(() -> {
+                boolean act = upgrade ? botPolicy.shouldUpgrade(player, tile, gameState)
+                        : botPolicy.shouldBuy(player, tile, gameState);
+                Platform.runLater(() -> {
+                    actionBtn.setDisable(false);
+                    closeBtn.setDisable(false);
+                    (act ? actionBtn : closeBtn).fire();
+                });
             });
+        }
+    }
 
+    /**
+     * Volba z nabídky nemovitosti v lokální hře.
+     */
+    private void resolveOffer(Player player, Tile tile, boolean upgrade, boolean act) {
+        if (!act) {
+            logLabel.setText(player.getName() + " odmítl akci na poli.");
+        } else if (!upgrade) {
+            if (flow.buy(player, tile)) {
+                boardView.update(tile);
+                logLabel.setText(player.getName() + " koupil " + tile.getName());
+            } else {
+                logLabel.setText(player.getName() + " nemá dost peněz.");
+            }
         } else {
-            logLabel.setText("Žádná akce dostupná.");
-            return;
+            if (flow.upgrade(player, tile)) {
+                boardView.update(tile);
+                logLabel.setText(player.getName() + " vylepšil " + tile.getName() + " na úroveň " + tile.getLevel());
+            } else {
+                logLabel.setText("Nedostatek peněz na upgrade.");
+            }
         }
+        endTurn();
+    }
 
-        root.getChildren().add(menu);
+    private void logRent(Player player, Tile tile, int rent) {
+        if (rent > 0) {
+            String log = player.getName() + " platí nájem " + rent + " Kč hráči " + tile.getOwner().getName() + ".";
+            if (player.isBankrupt()) {
+                log += " 💀 " + player.getName() + " zkrachoval!";
+            }
+            logLabel.setText(log);
+        } else {
+            logLabel.setText("Žádná akce dostupná.");
+        }
     }
 
-    private void handleTile(Player player, Tile tile) {
+    private void logTile(Player player, Tile tile, ChanceCard card) {
         StringBuilder log = new StringBuilder(player.getName() + " → " + tile.getName());
 
-        switch (tile.getType()) {
-            case DAN -> {
-                player.subtractMoney(200);
-                log.append(" zaplatil daň 200 Kč.");
-            }
-            case START -> {
-                player.addMoney(500);
-                log.append(" získal 500 Kč za průchod START.");
-            }
-            case DO_VEZENI -> {
-                player.goToJail();
-                log.append(" jde do vězení.");
-            }
-            case SANCE, POKLADNA -> {
-                ChanceCard.applyRandomEffect(player, gameState);
-                log.append(" karta šance/pokladna.");
-            }
-            case VEZENI, PARKOVISTE -> log.append(" odpočívá.");
+        RuleSet rules = gameState.getRules();
+        switch (rules.getEffect(tile.getType())) {
+            case PAY -> log.append(" zaplatil ").append(rules.getAmount(tile.getType())).append(" Kč.");
+            case GAIN -> log.append(" získal ").append(rules.getAmount(tile.getType())).append(" Kč.");
+            case JAIL -> log.append(" jde do vězení.");
+            case CARD -> log.append(" karta šance/pokladna: ").append(card);
+            case NONE -> log.append(" odpočívá.");
         }
 
         if (player.isBankrupt()) {
@@ -412,88 +651,173 @@ public class GameScene {
         logLabel.setText(log.toString());
     }
 
-    // Přidání domků
-    private void addHouseToBoard(Tile tile) {
-        removeOldHouses(tile.getIndex());
-        double[] pos = BoardUtils.getTilePosition(tile.getIndex());
-        double x = pos[0];
-        double z = pos[1];
-        int level = tile.getLevel();
-
-        for (int i = 0; i < level; i++) {
-            Box house = new Box(10, 10, 10);
-            house.setTranslateX(x - 15 + i * 15);
-            house.setTranslateY(-BoardUtils.TILE_HEIGHT - 5);
-            house.setTranslateZ(z);
-            house.setMaterial(new PhongMaterial(Color.DARKGREEN));
-            root3D.getChildren().add(house);
-        }
+    private void endTurn() {
+        turnInProgress = false;
+        flow.end();
     }
 
-    // Smazání starých domků
-    private void removeOldHouses(int tileIndex) {
-        List<Node> toRemove = new ArrayList<>();
-        for (Node n : root3D.getChildren()) {
-            if (n instanceof Box box) {
-                double bx = box.getTranslateX();
-                double bz = box.getTranslateZ();
-                double[] pos = BoardUtils.getTilePosition(tileIndex);
-                if (Math.abs(bx - pos[0]) < 40 && Math.abs(bz - pos[1]) < 40 &&
-                        box.getMaterial() instanceof PhongMaterial pm) {
-                    if (pm.getDiffuseColor().equals(Color.DARKGREEN)) {
-                        toRemove.add(box);
-                    }
+    /**
+     * Turbo: odehraje až N tahů bez animací na kopii stavu mimo FX vlákno (rozhodují boti
+     * se zkráceným rozpočtem, za lidi ALWAYS_BUY) a výsledek promítne najednou – pozice
+     * figurek, domy, vlastníci a HUD.
+     * Události dávky jdou do posluchačů živé hry (žurnál), takže záznam zůstává úplný.
+     */
+    private void runTurbo(int turns, Button rollBtn, Button turboBtn) {
+        if (turnInProgress || turboRunning || gameState.getActivePlayerCount() < 2) {
+            return;
+        }
+        turboRunning = true;
+        rollBtn.setDisable(true);
+        turboBtn.setDisable(true);
+        logLabel.setText("Turbo: hraje se " + turns + " tahů...");
+
+        GameState work = gameState.copy(new SplittableRandom(gameState.getRandom().nextLong()));
+        work.addListener(gameState::emit);
+        List<DecisionPolicy> policies = new ArrayList<>();
+        for (int i = 0; i < bots.length; i++) {
+            policies.add(bots[i] ? turboPolicy : DecisionPolicy.ALWAYS_BUY);
+        }
+        Thread.ofVirtual().name("turbo").start(() -> {
+            GameResult result = new TurnEngine(work, policies).playGame(turns);
+            Platform.runLater(() -> {
+                gameState.restoreFrom(work);
+                if (history != null) history.record(); // celá dávka je jeden krok historie
+                if (spectators != null) spectators.resync();
+                hud.setCurrentPlayer(gameState.getCurrentPlayerIndex());
+                BoardUtils.positionPlayers(gameState.getPlayers(), gameState);
+                for (Tile tile : gameState.getTiles()) {
+                    boardView.update(tile);
                 }
-            }
+                boardView.highlight(gameState.getCurrentPlayer().getPosition());
+                rollingNumber.setText("?");
+                logLabel.setText(result.hasWinner()
+                        ? "Turbo: po " + result.turns() + " tazích vítězí " + gameState.getPlayers().get(result.winnerId()).getName() + "!"
+                        : "Turbo: odehráno " + result.turns() + " tahů, hraje " + gameState.getCurrentPlayer().getName() + ".");
+                turboRunning = false;
+                rollBtn.setDisable(false);
+                turboBtn.setDisable(false);
+                updateHistoryButtons();
+            });
+        });
+    }
+
+    /**
+     * Undo/redo o jeden krok historie. Hra se vrátí do jiné verze (GameState.restoreVersion)
+     * a překreslí se jen pole, ve kterých se verze liší. Další tah z vrácené verze založí větev.
+     */
+    private void stepHistory(boolean back) {
+        if (history == null || turnInProgress || turboRunning) {
+            return;
+        }
+        history.record();
+        if (back ? !history.canUndo() : !history.canRedo()) {
+            return;
         }
-        root3D.getChildren().removeAll(toRemove);
+        GameVersion from = history.getCurrent();
+        GameVersion to = back ? history.undo() : history.redo();
+        from.diff(to, player -> { }, tile -> boardView.update(gameState.getTiles().get(tile)));
+        if (spectators != null) spectators.resync();
+        BoardUtils.positionPlayers(gameState.getPlayers(), gameState);
+        hud.setCurrentPlayer(gameState.getCurrentPlayerIndex());
+        boardView.highlight(gameState.getCurrentPlayer().getPosition());
+        rollingNumber.setText("?");
+        logLabel.setText((back ? "Vráceno" : "Zopakováno") + " na krok " + to.getTurn()
+                + ", hraje " + gameState.getCurrentPlayer().getName() + ".");
+        updateHistoryButtons();
     }
 
-    // Obnovení panelu hráčů + rohových labelů
-    private void updatePlayerStats() {
-        playerStats.getChildren().clear();
-        for (Player p : gameState.getPlayers()) {
-            StringBuilder sb = new StringBuilder(p.getName());
-            sb.append(p.isBankrupt() ? " ❌" : "").append(" — ").append(p.getMoney()).append(" Kč");
+    private void updateHistoryButtons() {
+        if (history != null) {
+            undoBtn.setDisable(!history.canUndo());
+            redoBtn.setDisable(!history.canRedo());
+        }
+    }
 
-            if (!p.getOwnedProperties().isEmpty()) {
-                sb.append("\n  → ");
-                for (Tile t : p.getOwnedProperties()) {
-                    sb.append(t.getName()).append("(L").append(t.getLevel()).append("), ");
-                }
-                sb.setLength(sb.length() - 2);
-            }
+    /**
+     * Odběratel sběrnice pro log na obrazovce: drží jen posledních EVENT_LOG_LINES událostí jako čísla,
+     * text z nich skládá až na konci dávky a na FX vlákně čeká nejvýš jedna aktualizace –
+     * ani turbo s tisíci událostí nezahltí Platform.runLater.
+     */
+    private final class EventTicker implements GameEventBus.Subscriber {
+        private final long[] events = new long[EVENT_LOG_LINES * 2];
+        private long count = 0; // jen roste – int by po 2^31 událostech turba přetekl
+        private volatile String latest = "";
+        private final AtomicBoolean posted = new AtomicBoolean();
+
+        @Override
+        public void onEvent(GameEventType type, int player, int a, int b) {
+            int slot = (int) (count++ % EVENT_LOG_LINES) * 2;
+            events[slot] = (long) type.ordinal() << 32 | player & 0xFFFFFFFFL;
+            events[slot + 1] = (long) a << 32 | b & 0xFFFFFFFFL;
+        }
 
-            Label info = new Label(sb.toString());
-            info.setTextFill(p.isBankrupt() ? Color.GRAY : Color.WHITE);
-            playerStats.getChildren().add(info);
+        @Override
+        public void endOfBatch() {
+            StringBuilder text = new StringBuilder();
+            for (long i = Math.max(0, count - EVENT_LOG_LINES); i < count; i++) {
+                int slot = (int) (i % EVENT_LOG_LINES) * 2;
+                if (!text.isEmpty()) text.append('\n');
+                text.append(GameEventText.describe(gameState, GameEventType.of((int) (events[slot] >>> 32)),
+                        (int) events[slot], (int) (events[slot + 1] >>> 32), (int) events[slot + 1]));
+            }
+            latest = text.toString();
+            if (!posted.getAndSet(true)) {
+                // čekající aktualizace si vezme nejnovější text, další se neplánuje
+                Platform.runLater(() -> {
+                    posted.set(false);
+                    eventLog.setText(latest);
+                });
+            }
         }
+    }
 
-        // Rohy
-        for (int i = 0; i < cornerLabels.size(); i++) {
-            Player p = gameState.getPlayers().get(i);
-            String text = p.getName() + "\n" + (p.isBankrupt() ? "BANKROT" : (p.getMoney() + " Kč"));
-            Label label = cornerLabels.get(i);
-            label.setText(text);
-
-            if (p.isBankrupt()) {
-                label.setStyle("""
-                    -fx-font-size: 16px;
-                    -fx-background-color: rgba(200,0,0,0.8);
-                    -fx-text-fill: white;
-                    -fx-padding: 8px;
-                """);
-            } else {
-                label.setStyle("""
-                    -fx-font-size: 16px;
-                    -fx-background-color: rgba(0,0,0,0.7);
-                    -fx-text-fill: white;
-                    -fx-padding: 8px;
-                """);
+    /**
+     * Delta ze serveru (už aplikovaná do zrcadla, běží na FX vlákně) – jen překreslení.
+     */
+    private void onRemoteEvent(GameEventType type, int playerId, int a, int b) {
+        Player player = gameState.getPlayers().get(playerId);
+        switch (type) {
+            case ROLL -> {
+                rollingNumber.setText(String.valueOf(a));
+                logLabel.setText(player.getName() + " hodil: " + a);
+            }
+            case MOVE -> {
+                BoardUtils.positionPlayers(gameState.getPlayers(), gameState);
+                boardView.highlight(a);
+            }
+            case BUY -> {
+                boardView.update(gameState.getTileAt(a));
+                logLabel.setText(player.getName() + " koupil " + gameState.getTileAt(a).getName());
+            }
+            case UPGRADE -> {
+                boardView.update(gameState.getTileAt(a));
+                logLabel.setText(player.getName() + " vylepšil " + gameState.getTileAt(a).getName());
+            }
+            case RENT -> logLabel.setText(player.getName() + " platí nájem " + b + " Kč hráči "
+                    + gameState.getTileAt(a).getOwner().getName() + ".");
+            case CARD -> logLabel.setText(player.getName() + " karta šance/pokladna: " + gameState.getDeck().getCard(a));
+            case JAIL -> logLabel.setText(player.getName() + " jde do vězení.");
+            case BANKRUPT -> logLabel.setText("💀 " + player.getName() + " zkrachoval!");
+            case TURN -> hud.setCurrentPlayer(a);
+            case TAX, START_BONUS, JAIL_TURN -> {
             }
         }
     }
 
+    /**
+     * Nabídka nemovitosti ze serveru (FX vlákno) – stejné menu jako lokálně, volba jde serveru.
+     */
+    private void onRemoteOffer(int tileIndex, boolean upgrade) {
+        Player player = gameState.getCurrentPlayer();
+        Tile tile = gameState.getTileAt(tileIndex);
+        showPropertyMenu(player, tile, upgrade, act -> {
+            if (!act) {
+                logLabel.setText(player.getName() + " odmítl akci na poli.");
+            }
+            client.decide(act);
+        });
+    }
+
     public Scene getScene() {
         return scene;
     }
@@ -0,0 +1,289 @@
+package business;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Herní server na loopbacku. Autoritou je GameState stolu (GameTable) – klienti posílají
+ * jen příkazy a dostávají zpět události (delty), které si přehrají do vlastní kopie stavu.
+ * Každé spojení i každý stůl běží na vlastním virtuálním vlákně, takže jedno JVM
+ * unese tisíce stolů.
+ *
+ * Protokol (DataInput/DataOutput, big-endian):
+ * <pre>
+ * klient → server: JOIN  stůl (UTF) | počet hráčů (unsigned short) | jména (UTF)... | seed (long)
+ *                        (jména a seed zakládají nový stůl – aspoň 2 hráči; k existujícímu lze i bez jmen)
+ *                        | počet míst (unsigned short) | místa (unsigned short)... – hráči, za které spojení hraje
+ *                  TURN  příznaky (byte, FLAG_BUY | FLAG_UPGRADE | FLAG_ASK) – jen za hráče na tahu na vlastním místě
+ *                  DECIDE koupit / vylepšit (byte 0/1) – odpověď na OFFER
+ *                  LEAVE
+ * server → klient: SNAPSHOT délka (int) | GameSnapshot
+ *                  EVENTS   odpověď na můj TURN (byte 0/1) | počet (int) | záznamy s rozložením EventJournal
+ *                           (typ, 0, hráč short, a int, b int – 12 B), ale big-endian jako zbytek protokolu
+ *                  OFFER    pole (unsigned short) | upgrade (byte 0/1) – nabídka nemovitosti v tahu s FLAG_ASK;
+ *                           před ní přijdou (s odpovědí 0) události tahu až po dopad na pole
+ *                  ERROR    zpráva (UTF)
+ * </pre>
+ */
+public class GameServer implements AutoCloseable {
+
+    static final byte JOIN = 1;
+    static final byte TURN = 2;
+    static final byte LEAVE = 3;
+    static final byte DECIDE = 4;
+
+    static final byte SNAPSHOT = 1;
+    static final byte EVENTS = 2;
+    static final byte ERROR = 3;
+    static final byte OFFER = 4;
+
+    public static final int FLAG_BUY = 1;
+    public static final int FLAG_UPGRADE = 2;
+    public static final int FLAG_ASK = 4; // o nabídce nemovitosti rozhodne hráč (OFFER / DECIDE), ne příznaky
+
+    // malé buffery – tisíce spojení nesmí každé držet 8 KiB + 8 KiB
+    private static final int IO_BUFFER = 512;
+
+    private final ServerSocket serverSocket;
+    private final Map<String, GameTable> tables = new ConcurrentHashMap<>();
+    private final Thread acceptor;
+
+    public GameServer(int port) {
+        try {
+            serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze spustit server na portu " + port, e);
+        }
+        acceptor = Thread.ofVirtual().name("server-accept").start(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getTableCount() {
+        return tables.size();
+    }
+
+    public GameTable getTable(String id) {
+        return tables.get(id);
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze zastavit server", e);
+        }
+        acceptor.interrupt();
+        tables.values().forEach(GameTable::close);
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Thread.ofVirtual().name("conn-" + socket.getPort()).start(() -> serve(new Connection(socket)));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Chyba při přijetí spojení: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Connection conn) {
+        GameTable table = null;
+        try {
+            while (true) {
+                byte command = conn.in.readByte();
+                switch (command) {
+                    case JOIN -> {
+                        String id = conn.in.readUTF();
+                        int count = conn.in.readUnsignedShort();
+                        List<String> names = new ArrayList<>(count);
+                        for (int i = 0; i < count; i++) {
+                            names.add(conn.in.readUTF());
+                        }
+                        long seed = conn.in.readLong();
+                        int[] seats = new int[conn.in.readUnsignedShort()];
+                        for (int i = 0; i < seats.length; i++) {
+                            seats[i] = conn.in.readUnsignedShort();
+                        }
+                        if (table != null) {
+                            conn.sendError("Spojení už sedí u stolu " + table.getId());
+                        } else {
+                            try {
+                                table = joinTable(id, names, seed, seats, conn);
+                                if (table == null) {
+                                    conn.sendError("Stůl " + id + " neexistuje a pro nový chybí hráči (aspoň 2)");
+                                }
+                            } catch (IllegalArgumentException e) {
+                                conn.sendError(e.getMessage());
+                            }
+                        }
+                    }
+                    case TURN -> {
+                        int flags = conn.in.readByte();
+                        if (table == null) {
+                            conn.sendError("Nejdřív se připoj ke stolu");
+                        } else {
+                            table.requestTurn(conn, flags);
+                        }
+                    }
+                    case DECIDE -> {
+                        boolean act = conn.in.readByte() == 1;
+                        if (table != null) {
+                            table.decide(conn, act);
+                        }
+                    }
+                    case LEAVE -> {
+                        return;
+                    }
+                    default -> {
+                        conn.sendError("Neznámý příkaz " + command);
+                        return;
+                    }
+                }
+            }
+        } catch (EOFException e) {
+            // klient se odpojil
+        } catch (IOException e) {
+            System.err.println("Spojení ukončeno: " + e.getMessage());
+        } finally {
+            if (table != null) {
+                table.leave(conn);
+            }
+            conn.close();
+        }
+    }
+
+    // Zavíraný stůl už v mapě není (GameTable.close), další pokus najde nebo založí nový
+    // ke stávajícímu stolu se jde i bez jmen, nový potřebuje aspoň dva hráče
+    private GameTable joinTable(String id, List<String> names, long seed, int[] seats, Connection conn) {
+        while (true) {
+            GameTable table = names.size() < 2 ? tables.get(id)
+                    : tables.computeIfAbsent(id, k -> new GameTable(k, names, seed, this::removeTable));
+            if (table == null) {
+                return null;
+            }
+            if (table.join(conn, seats)) {
+                return table;
+            }
+        }
+    }
+
+    private void removeTable(GameTable table) {
+        tables.remove(table.getId(), table);
+    }
+
+    /**
+     * Jedno klientské spojení. Zapisuje do něj vlákno stolu, proto zámek
+     * (ReentrantLock, synchronized by při blokujícím zápisu přišpendlil virtuální vlákno).
+     */
+    static final class Connection {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final ReentrantLock writeLock = new ReentrantLock();
+
+        Connection(Socket socket) {
+            this.socket = socket;
+            try {
+                in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), IO_BUFFER));
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), IO_BUFFER));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Nelze otevřít spojení", e);
+            }
+        }
+
+        void sendSnapshot(byte[] snapshot) {
+            writeLock.lock();
+            try {
+                out.writeByte(SNAPSHOT);
+                out.writeInt(snapshot.length);
+                out.write(snapshot);
+                out.flush();
+            } catch (IOException e) {
+                close();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void sendEvents(boolean reply, byte[] records, int length) {
+            writeLock.lock();
+            try {
+                out.writeByte(EVENTS);
+                out.writeByte(reply ? 1 : 0);
+                out.writeInt(length / EventJournal.RECORD_SIZE);
+                out.write(records, 0, length);
+                out.flush();
+            } catch (IOException e) {
+                close();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void sendOffer(int tile, boolean upgrade) {
+            writeLock.lock();
+            try {
+                out.writeByte(OFFER);
+                out.writeShort(tile);
+                out.writeByte(upgrade ? 1 : 0);
+                out.flush();
+            } catch (IOException e) {
+                close();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void sendError(String message) {
+            writeLock.lock();
+            try {
+                out.writeByte(ERROR);
+                out.writeUTF(message);
+                out.flush();
+            } catch (IOException e) {
+                close();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // už zavřeno
+            }
+        }
+    }
+
+    /**
+     * Samostatný server: [port]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7700;
+        GameServer server = new GameServer(port);
+        System.out.println("Server běží na portu " + server.getPort());
+        server.acceptor.join();
+    }
+}
@@ -0,0 +1,120 @@
+package business;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Binární snapshot stavu hry s pevným rozložením (little-endian):
+ * <pre>
+ * hlavička (36 B): magic "BTS1" | verze | celková délka | hráči | pole | hráč na tahu | offset jmen
+ *                  | hash pravidel (long)
+ * hráč     (12 B): pozice (int) | peníze (int) | příznaky (byte: 1 = bankrot, 2 = vězení) | tahy ve vězení (byte) | 0 (short)
+ * pole      (4 B): vlastník (short, -1 = nikdo) | úroveň (byte) | 0 (byte)
+ * jména          : (short délka + UTF-8) pro každého hráče
+ * pravidla       : zdroj pravidel (short délka + UTF-8)
+ * </pre>
+ * Hráči a pole jsou na pevných offsetech, takže SnapshotView čte hodnoty přímo
+ * z (mapovaného) bufferu bez vytváření objektů. Stav generátoru a balíčku se neukládá.
+ * Verze 1 měla 28 B hlavičku bez pravidel – vznikla s klasickými pravidly.
+ */
+public final class GameSnapshot {
+
+    static final int MAGIC = 0x31535442; // "BTS1"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 36;
+    static final int V1_HEADER_SIZE = 28;
+    static final int PLAYER_SIZE = 12;
+    static final int TILE_SIZE = 4;
+
+    static final int SIZE_OFFSET = 8;
+    static final int PLAYERS_OFFSET = 12;
+    static final int TILES_OFFSET = 16;
+    static final int CURRENT_OFFSET = 20;
+    static final int NAMES_OFFSET = 24;
+    static final int RULES_OFFSET = 28;
+
+    static final int FLAG_BANKRUPT = 1;
+    static final int FLAG_JAIL = 2;
+
+    private GameSnapshot() {
+    }
+
+    public static int sizeOf(GameState state) {
+        int size = HEADER_SIZE + state.getPlayers().size() * PLAYER_SIZE + state.getTiles().size() * TILE_SIZE;
+        for (Player p : state.getPlayers()) {
+            size += 2 + p.getName().getBytes(StandardCharsets.UTF_8).length;
+        }
+        return size + 2 + state.getRules().getSource().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Zapíše snapshot od aktuální pozice bufferu a posune ji za něj.
+     */
+    public static void write(GameState state, ByteBuffer buf) {
+        ByteOrder order = buf.order();
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        List<Player> players = state.getPlayers();
+        List<Tile> tiles = state.getTiles();
+        int namesOffset = HEADER_SIZE + players.size() * PLAYER_SIZE + tiles.size() * TILE_SIZE;
+
+        int start = buf.position();
+        buf.putInt(MAGIC).putInt(VERSION).putInt(0)
+                .putInt(players.size()).putInt(tiles.size())
+                .putInt(state.getCurrentPlayerIndex()).putInt(namesOffset)
+                .putLong(state.getRules().getHash());
+
+        for (Player p : players) {
+            int flags = (p.isBankrupt() ? FLAG_BANKRUPT : 0) | (p.isInJail() ? FLAG_JAIL : 0);
+            buf.putInt(p.getPosition()).putInt(p.getMoney())
+                    .put((byte) flags).put((byte) p.getJailTurns()).putShort((short) 0);
+        }
+        for (Tile t : tiles) {
+            buf.putShort((short) (t.isOwned() ? t.getOwner().getId() : -1))
+                    .put((byte) t.getLevel()).put((byte) 0);
+        }
+        for (Player p : players) {
+            byte[] name = p.getName().getBytes(StandardCharsets.UTF_8);
+            buf.putShort((short) name.length).put(name);
+        }
+        byte[] source = state.getRules().getSource().getBytes(StandardCharsets.UTF_8);
+        buf.putShort((short) source.length).put(source);
+        buf.putInt(start + SIZE_OFFSET, buf.position() - start);
+        buf.order(order);
+    }
+
+    public static void save(GameState state, Path file) {
+        ByteBuffer buf = ByteBuffer.allocate(sizeOf(state));
+        write(state, buf);
+        buf.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze uložit hru do " + file, e);
+        }
+    }
+
+    /**
+     * Namapuje uložený snapshot ze souboru (nic se nekopíruje).
+     */
+    public static SnapshotView open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new SnapshotView(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze načíst hru z " + file, e);
+        }
+    }
+
+    public static GameState load(Path file) {
+        return open(file).toGameState();
+    }
+}
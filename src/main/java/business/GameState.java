@@ -2,27 +2,246 @@ package business;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
-public class GameState {
+public final class GameState {
 
     private final List<Player> players;
     private final List<Tile> tiles;
+    private final RandomGenerator random;
+    private final CardDeck deck;
+    private final OwnershipIndex ownership;
+    private final int boardSize;
+    private final RuleSet rules;
+    private final StateHash hash = new StateHash();
     private int currentPlayerIndex = 0;
 
+    // Kruh aktivních hráčů (obousměrný seznam v polích): nextPlayer je O(1) i pro stovky hráčů.
+    // Vyřazený hráč si nechává odkaz na následníka, takže z něj se dá pokračovat dál.
+    private final int[] nextActive;
+    private final int[] prevActive;
+    private int activeCount;
+    private boolean activeRingDirty = false; // po obnově stavu (restore) se kruh staví znovu
+    private GameEventListener listener = GameEventListener.NONE;
+
+    // Verze (GameVersion): poslední uložená a kteří hráči/pole se od ní změnili
+    private GameVersion version;
+    private final boolean[] playerChanged;
+    private final int[] changedPlayers;
+    private int changedPlayerCount;
+    private final boolean[] tileChanged;
+    private final int[] changedTiles;
+    private int changedTileCount;
+
     public GameState(List<String> playerNames) {
+        this(playerNames, new SplittableRandom());
+    }
+
+    /**
+     * Hra se vším náhodným (kostka, míchání karet) z generátoru odvozeného ze seedu –
+     * stejný seed a stejná rozhodnutí dají stejnou hru.
+     */
+    public GameState(List<String> playerNames, long seed) {
+        this(playerNames, new SplittableRandom(seed));
+    }
+
+    public GameState(List<String> playerNames, RandomGenerator random) {
+        this(playerNames, random, RuleSet.current());
+    }
+
+    public GameState(List<String> playerNames, RandomGenerator random, RuleSet rules) {
+        this(playerNames, random, rules.getBoardSize(), rules);
+    }
+
+    public GameState(List<String> playerNames, long seed, int boardSize) {
+        this(playerNames, new SplittableRandom(seed), boardSize);
+    }
+
+    public GameState(List<String> playerNames, RandomGenerator random, int boardSize) {
+        this(playerNames, random, boardSize, RuleSet.current());
+    }
+
+    /**
+     * Hra na desce o boardSize polích podle pravidel rules (viz RuleSet.generateTiles).
+     * Pravidla se během hry nemění – nová verze souboru platí až od další hry.
+     */
+    public GameState(List<String> playerNames, RandomGenerator random, int boardSize, RuleSet rules) {
+        this.random = random;
+        this.rules = rules;
+        this.boardSize = boardSize;
         this.players = new ArrayList<>();
         for (int i = 0; i < playerNames.size(); i++) {
             String name = playerNames.get(i);
-            players.add(new Player(i, BoardUtils.getPlayerColor(i), name));
+            Player player = new Player(i, BoardUtils.getPlayerColor(i), name);
+            player.attach(this);
+            players.add(player);
+        }
+
+        this.nextActive = new int[players.size()];
+        this.prevActive = new int[players.size()];
+        rebuildActiveRing();
+        this.playerChanged = new boolean[players.size()];
+        this.changedPlayers = new int[players.size()];
+
+        this.tiles = rules.generateTiles(boardSize);
+        this.ownership = new OwnershipIndex(tiles, players.size());
+        this.tileChanged = new boolean[tiles.size()];
+        this.changedTiles = new int[tiles.size()];
+        for (Tile tile : tiles) {
+            tile.attach(this);
+        }
+        this.deck = new CardDeck(rules.getCards(), random);
+    }
+
+    /**
+     * Kopie stavu (hráči, vlastníci, domy, hráč na tahu) s vlastním generátorem –
+     * pro rollouty botů a turbo režim. Pořadí karet v balíčku se nekopíruje, kopie míchá znovu.
+     */
+    public GameState copy(RandomGenerator random) {
+        List<String> names = new ArrayList<>(players.size());
+        for (Player p : players) {
+            names.add(p.getName());
         }
+        GameState copy = new GameState(names, random, boardSize, rules);
+        copy.restoreFrom(this);
+        return copy;
+    }
+
+    /**
+     * Přepíše stav touto hrou stejného složení (např. výsledkem turbo dávky).
+     * Každý seznam nemovitostí se mění jedním setAll, takže HUD dostane jednu změnu na hráče.
+     * Nic nevysílá – události jdou jen z pravidel.
+     */
+    void restoreFrom(GameState other) {
+        for (int i = 0; i < players.size(); i++) {
+            Player p = other.players.get(i);
+            players.get(i).restore(p.getPosition(), p.getMoney(), p.isBankrupt(), p.isInJail(), p.getJailTurns());
+        }
+        List<List<Tile>> owned = new ArrayList<>(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            owned.add(new ArrayList<>());
+        }
+        for (int t = 0; t < tiles.size(); t++) {
+            Tile source = other.tiles.get(t);
+            Tile target = tiles.get(t);
+            Player owner = source.isOwned() ? players.get(source.getOwner().getId()) : null;
+            target.setOwner(owner);
+            target.restoreLevel(source.getLevel());
+            if (owner != null && !owner.isBankrupt()) {
+                owned.get(owner.getId()).add(target);
+            }
+        }
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).getOwnedProperties().setAll(owned.get(i));
+        }
+        setCurrent(other.currentPlayerIndex);
+    }
+
+    /**
+     * Uloží aktuální stav jako novou verzi (potomka poslední uložené nebo obnovené verze).
+     * Kopíruje jen hráče a pole změněné od minulé verze – O(k log n). Beze změny vrátí tu minulou.
+     */
+    public GameVersion commitVersion() {
+        if (version == null) {
+            version = GameVersion.of(this);
+        } else if (changedPlayerCount > 0 || changedTileCount > 0
+                || version.getCurrentPlayerIndex() != currentPlayerIndex) {
+            version = version.next(this, changedPlayers, changedPlayerCount, changedTiles, changedTileCount);
+        }
+        clearChanges();
+        return version;
+    }
 
-        this.tiles = BoardUtils.generateTiles();
+    /**
+     * Vrátí hru do dané verze (undo, redo, skok na jinou větev). Přepíše jen hráče a pole,
+     * které se od ní liší – změněné od poslední verze plus rozdíl mezi verzemi, sdílené
+     * části stromu se nepročítají. Verze musí pocházet z hry stejného složení.
+     * Nic nevysílá – stejně jako restoreFrom.
+     */
+    public void restoreVersion(GameVersion target) {
+        if (version == null) {
+            version = GameVersion.of(this);
+            clearChanges();
+        }
+        // rozdíl proti poslední verzi se přidá k příznakům, ve kterých už jsou neuložené změny
+        version.diff(target, this::markPlayer, this::markTile);
+        for (int i = 0; i < changedPlayerCount; i++) {
+            int id = changedPlayers[i];
+            GameVersion.PlayerRecord r = target.player(id);
+            players.get(id).restore(r.position(), r.money(), r.bankrupt(), r.inJail(), r.jailTurns());
+        }
+        for (int i = 0; i < changedTileCount; i++) {
+            Tile tile = tiles.get(changedTiles[i]);
+            GameVersion.TileRecord r = target.tile(tile.getIndex());
+            Player previous = tile.getOwner();
+            Player owner = r.owner() < 0 ? null : players.get(r.owner());
+            if (previous != owner) {
+                if (previous != null) previous.getOwnedProperties().remove(tile);
+                if (owner != null) owner.getOwnedProperties().add(tile);
+            }
+            tile.setOwner(owner);
+            tile.restoreLevel(r.level());
+        }
+        setCurrent(target.getCurrentPlayerIndex());
+        version = target;
+        clearChanges();
+    }
+
+    // Volá Player při každé změně (pozice, peníze, vězení, bankrot)
+    void markPlayer(int id) {
+        if (!playerChanged[id]) {
+            playerChanged[id] = true;
+            changedPlayers[changedPlayerCount++] = id;
+        }
+    }
+
+    // Volá Tile při změně vlastníka nebo úrovně
+    void markTile(int index) {
+        if (!tileChanged[index]) {
+            tileChanged[index] = true;
+            changedTiles[changedTileCount++] = index;
+        }
+    }
+
+    private void clearChanges() {
+        for (int i = 0; i < changedPlayerCount; i++) {
+            playerChanged[changedPlayers[i]] = false;
+        }
+        for (int i = 0; i < changedTileCount; i++) {
+            tileChanged[changedTiles[i]] = false;
+        }
+        changedPlayerCount = 0;
+        changedTileCount = 0;
+    }
+
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    public OwnershipIndex getOwnership() {
+        return ownership;
+    }
+
+    public CardDeck getDeck() {
+        return deck;
     }
 
     public List<Player> getPlayers() {
         return players;
     }
 
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * Pravidla, se kterými hra začala (efekty polí, karty).
+     */
+    public RuleSet getRules() {
+        return rules;
+    }
+
     public List<Tile> getTiles() {
         return tiles;
     }
@@ -32,13 +251,105 @@ public class GameState {
     }
 
     public void nextPlayer() {
-        do {
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-        } while (players.get(currentPlayerIndex).isBankrupt());
+        if (activeRingDirty) rebuildActiveRing();
+        int next = nextActive[currentPlayerIndex];
+        // odkaz vyřazeného hráče může mířit na později vyřazeného – řetěz vede jen dopředu
+        while (players.get(next).isBankrupt()) {
+            next = nextActive[next];
+        }
+        setCurrent(next);
+        emit(GameEventType.TURN, currentPlayerIndex, currentPlayerIndex, 0);
+    }
+
+    // Volá Player při bankrotu: vyjmutí z kruhu aktivních hráčů
+    void removeActive(Player player) {
+        if (activeRingDirty) {
+            rebuildActiveRing(); // hráč už je označený jako vyřazený
+            return;
+        }
+        int id = player.getId();
+        nextActive[prevActive[id]] = nextActive[id];
+        prevActive[nextActive[id]] = prevActive[id];
+        activeCount--;
+    }
+
+    // Volá Player.restore – bankrot se mohl změnit oběma směry
+    void invalidateActivePlayers() {
+        activeRingDirty = true;
+    }
+
+    private void rebuildActiveRing() {
+        int n = players.size();
+        int last = -1;
+        int first = -1;
+        activeCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (players.get(i).isBankrupt()) continue;
+            if (first < 0) first = i;
+            if (last >= 0) {
+                nextActive[last] = i;
+                prevActive[i] = last;
+            }
+            last = i;
+            activeCount++;
+        }
+        if (first < 0) {
+            return;
+        }
+        nextActive[last] = first;
+        prevActive[first] = last;
+        // vyřazení hráči ukazují na nejbližšího aktivního za sebou
+        int next = first;
+        for (int i = n - 1; i >= 0; i--) {
+            if (players.get(i).isBankrupt()) {
+                nextActive[i] = next;
+            } else {
+                next = i;
+            }
+        }
+        activeRingDirty = false;
+    }
+
+    /** Počet hráčů ve hře (bez bankrotu), O(1). */
+    public int getActivePlayerCount() {
+        if (activeRingDirty) rebuildActiveRing();
+        return activeCount;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    // jen pro obnovu stavu (JournalReplayer), pravidla používají nextPlayer()
+    void setCurrentPlayerIndex(int index) {
+        setCurrent(index);
+    }
+
+    private void setCurrent(int index) {
+        hash.current(currentPlayerIndex, index);
+        currentPlayerIndex = index;
+    }
+
+    /**
+     * Průběžný hash stavu (StateHash) – stejné hry mají v každém tahu stejný hash.
+     */
+    public StateHash getHash() {
+        return hash;
+    }
+
+    /**
+     * Přidá posluchače všech herních událostí (žurnál, statistiky...).
+     */
+    public void addListener(GameEventListener l) {
+        listener = GameEventListener.combine(listener, l);
+    }
+
+    void emit(GameEventType type, int player, int a, int b) {
+        listener.onEvent(type, player, a, b);
     }
 
     public Tile getTileAt(int index) {
-        return tiles.get(index % 40);
+        return tiles.get(index % boardSize);
     }
 
     public List<Player> getActivePlayers() {
@@ -0,0 +1,227 @@
+package business;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Jeden herní stůl na serveru. Stav mění jen vlastní virtuální vlákno stolu, které
+ * postupně zpracovává frontu příkazů (připojení, tah, odchod) – GameState tak nepotřebuje zámky.
+ * Události tahu se zapisují do bufferu a po tahu se rozešlou všem připojeným klientům.
+ * V tahu s FLAG_ASK vlákno stolu u nabídky nemovitosti čeká na odpověď hráče (DECIDE).
+ */
+public class GameTable implements GameEventListener {
+
+    // jak dlouho stůl čeká na odpověď na nabídku, pak bere odmítnutí (hráč nesmí stůl zablokovat)
+    static final long DECISION_TIMEOUT_SECONDS = 120;
+
+    private final String id;
+    private final GameState state;
+    private final TurnEngine engine;
+    private final List<GameServer.Connection> connections = new ArrayList<>();
+    private final BlockingQueue<Runnable> commands = new LinkedBlockingQueue<>();
+    private final GameServer.Connection[] seats; // kdo ovládá kterého hráče (null = nikdo), pod zámkem stolu
+    private final Consumer<GameTable> onClose;
+    private final Thread thread;
+    private ByteBuffer events = ByteBuffer.allocate(64 * EventJournal.RECORD_SIZE);
+    private int flags = 0; // rozhodnutí klienta pro právě hraný tah
+    private GameServer.Connection playing; // kdo hraje právě hraný tah
+    private final BlockingQueue<Boolean> decisions = new LinkedBlockingQueue<>();
+    private volatile GameServer.Connection asking; // komu běží nabídka (null = žádná)
+    private volatile boolean closed = false;
+
+    GameTable(String id, List<String> playerNames, long seed, Consumer<GameTable> onClose) {
+        this.id = id;
+        this.state = new GameState(playerNames, seed);
+        DecisionPolicy remote = new DecisionPolicy() {
+            @Override
+            public boolean shouldBuy(Player p, Tile tile, GameState s) {
+                return ask(p, tile, false, GameServer.FLAG_BUY);
+            }
+
+            @Override
+            public boolean shouldUpgrade(Player p, Tile tile, GameState s) {
+                return ask(p, tile, true, GameServer.FLAG_UPGRADE);
+            }
+        };
+        this.engine = new TurnEngine(state, Collections.nCopies(playerNames.size(), remote));
+        this.seats = new GameServer.Connection[playerNames.size()];
+        this.onClose = onClose;
+        state.addListener(this);
+        thread = Thread.ofVirtual().name("table-" + id).start(this::run);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Autoritativní stav – číst jen pro diagnostiku, mění ho vlákno stolu.
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    public int getTurn() {
+        return engine.getTurn();
+    }
+
+    /**
+     * Zařadí připojení ke stolu a přidělí mu místa (hráče), za která smí hrát; bez míst je divák.
+     * Vrací false, když se stůl už zavírá – jeho vlákno by příkaz nikdy nezpracovalo a klient
+     * by čekal na snapshot navždy. Obsazené nebo neexistující místo je IllegalArgumentException.
+     */
+    synchronized boolean join(GameServer.Connection conn, int[] requested) {
+        if (closed) {
+            return false;
+        }
+        for (int i = 0; i < requested.length; i++) {
+            int seat = requested[i];
+            if (seat < 0 || seat >= seats.length) {
+                throw new IllegalArgumentException("Stůl " + id + " nemá místo " + seat);
+            }
+            for (int j = 0; j < i; j++) {
+                if (requested[j] == seat) {
+                    throw new IllegalArgumentException("Místo " + seat + " je v požadavku dvakrát");
+                }
+            }
+            if (seats[seat] != null) {
+                throw new IllegalArgumentException("Místo " + seat + " u stolu " + id + " už je obsazené");
+            }
+        }
+        for (int seat : requested) {
+            seats[seat] = conn;
+        }
+        commands.add(() -> {
+            // snapshot a přihlášení k deltám ve stejném okamžiku mezi tahy
+            byte[] snapshot = new byte[GameSnapshot.sizeOf(state)];
+            GameSnapshot.write(state, ByteBuffer.wrap(snapshot));
+            conn.sendSnapshot(snapshot);
+            connections.add(conn);
+        });
+        return true;
+    }
+
+    void requestTurn(GameServer.Connection conn, int turnFlags) {
+        commands.add(() -> {
+            // autoritou je server: hrát smí jen ten, kdo ovládá hráče na tahu
+            if (engine.isFinished()) {
+                conn.sendError("Hra u stolu " + id + " už skončila");
+                return;
+            }
+            Player current = state.getCurrentPlayer();
+            if (!owns(conn, current.getId())) {
+                conn.sendError("Na tahu je " + current.getName() + " a toho toto spojení neovládá");
+                return;
+            }
+            flags = turnFlags;
+            playing = conn;
+            events.clear();
+            engine.playTurn();
+            for (GameServer.Connection c : connections) {
+                c.sendEvents(c == conn, events.array(), events.position());
+            }
+            playing = null;
+        });
+    }
+
+    /**
+     * Odpověď hráče na nabídku (DECIDE). Pozdní odpověď po vypršení nabídky se zahodí.
+     */
+    void decide(GameServer.Connection conn, boolean act) {
+        if (asking == conn) {
+            decisions.offer(act);
+        }
+    }
+
+    // Rozhodnutí v nabídce: podle příznaků, nebo (FLAG_ASK) se zeptá hráče a čeká na DECIDE
+    private boolean ask(Player current, Tile tile, boolean upgrade, int flag) {
+        if ((flags & GameServer.FLAG_ASK) == 0) {
+            return (flags & flag) != 0;
+        }
+        // hráč má vidět hod a pohyb dřív, než se rozhodne – dosavadní události tahu odejdou hned
+        for (GameServer.Connection c : connections) {
+            c.sendEvents(false, events.array(), events.position());
+        }
+        events.clear();
+        decisions.clear();
+        asking = playing;
+        try {
+            // leave uvolní místo a pak se podívá na asking – jedna ze stran odchod vždy uvidí
+            if (!owns(playing, current.getId())) {
+                return false;
+            }
+            playing.sendOffer(tile.getIndex(), upgrade);
+            Boolean act = decisions.poll(DECISION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return act != null && act;
+        } catch (InterruptedException e) {
+            // stůl se zavírá – nabídka propadá, přerušení dojde do smyčky run
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            asking = null;
+        }
+    }
+
+    void leave(GameServer.Connection conn) {
+        release(conn);
+        if (asking == conn) {
+            decisions.offer(false); // odcházející nabídku už nezodpoví
+        }
+        commands.add(() -> {
+            connections.remove(conn);
+            if (connections.isEmpty()) {
+                close();
+            }
+        });
+    }
+
+    private synchronized boolean owns(GameServer.Connection conn, int seat) {
+        return seats[seat] == conn;
+    }
+
+    // Uvolní místa odcházejícího – může je obsadit další JOIN
+    private synchronized void release(GameServer.Connection conn) {
+        for (int i = 0; i < seats.length; i++) {
+            if (seats[i] == conn) {
+                seats[i] = null;
+            }
+        }
+    }
+
+    // Stůl nejdřív zmizí ze serveru, takže nový JOIN už dostane nový stůl; zámek s join
+    // zaručí, že žádné připojení nezůstane ve frontě zavřeného stolu (uvnitř se neblokuje)
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        onClose.accept(this);
+        closed = true;
+        thread.interrupt();
+    }
+
+    @Override
+    public void onEvent(GameEventType type, int player, int a, int b) {
+        if (events.remaining() < EventJournal.RECORD_SIZE) {
+            ByteBuffer bigger = ByteBuffer.allocate(events.capacity() * 2);
+            events.flip();
+            events = bigger.put(events);
+        }
+        events.put((byte) type.ordinal()).put((byte) 0).putShort((short) player).putInt(a).putInt(b);
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                commands.take().run();
+            }
+        } catch (InterruptedException e) {
+            // stůl zavřen
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package business;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Neměnná verze stavu hry (hráči, vlastníci a domy, hráč na tahu). Hráči a pole jsou
+ * v PersistentVectorech, takže další verze zkopíruje jen změněné záznamy a cesty k nim
+ * (O(k log n)) a zbytek sdílí s rodičem. Verze tvoří strom – undo/redo i větve "co kdyby"
+ * (GameHistory) jsou jen ukazatele do něj.
+ *
+ * Generátor ani pořadí karet se neverzují: hod kostkou po návratu k verzi je nová větev.
+ */
+public final class GameVersion {
+
+    record PlayerRecord(int position, int money, boolean bankrupt, boolean inJail, int jailTurns) {
+        static PlayerRecord of(Player p) {
+            return new PlayerRecord(p.getPosition(), p.getMoney(), p.isBankrupt(), p.isInJail(), p.getJailTurns());
+        }
+    }
+
+    record TileRecord(int owner, int level) {
+        static final TileRecord EMPTY = new TileRecord(-1, 0);
+
+        static TileRecord of(Tile t) {
+            if (!t.isOwned() && t.getLevel() == 0) {
+                return EMPTY;
+            }
+            return new TileRecord(t.isOwned() ? t.getOwner().getId() : -1, t.getLevel());
+        }
+    }
+
+    private final GameVersion parent;
+    private final int turn;
+    private final PersistentVector<PlayerRecord> players;
+    private final PersistentVector<TileRecord> tiles;
+    private final int currentPlayer;
+    private final long hash;
+
+    private GameVersion(GameVersion parent, int turn, PersistentVector<PlayerRecord> players,
+                        PersistentVector<TileRecord> tiles, int currentPlayer, long hash) {
+        this.parent = parent;
+        this.turn = turn;
+        this.players = players;
+        this.tiles = tiles;
+        this.currentPlayer = currentPlayer;
+        this.hash = hash;
+    }
+
+    // Kořen stromu verzí – celý stav hry, O(n)
+    static GameVersion of(GameState state) {
+        List<PlayerRecord> players = new ArrayList<>(state.getPlayers().size());
+        for (Player p : state.getPlayers()) {
+            players.add(PlayerRecord.of(p));
+        }
+        List<TileRecord> tiles = new ArrayList<>(state.getBoardSize());
+        for (Tile t : state.getTiles()) {
+            tiles.add(TileRecord.of(t));
+        }
+        return new GameVersion(null, 0, PersistentVector.of(players), PersistentVector.of(tiles),
+                state.getCurrentPlayerIndex(), state.getHash().get());
+    }
+
+    // Další verze: jen změněné hráče a pole, ostatní se sdílí
+    GameVersion next(GameState state, int[] changedPlayers, int playerCount, int[] changedTiles, int tileCount) {
+        PersistentVector<PlayerRecord> p = players;
+        for (int i = 0; i < playerCount; i++) {
+            int id = changedPlayers[i];
+            p = p.set(id, PlayerRecord.of(state.getPlayers().get(id)));
+        }
+        PersistentVector<TileRecord> t = tiles;
+        for (int i = 0; i < tileCount; i++) {
+            int index = changedTiles[i];
+            t = t.set(index, TileRecord.of(state.getTiles().get(index)));
+        }
+        return new GameVersion(this, turn + 1, p, t, state.getCurrentPlayerIndex(), state.getHash().get());
+    }
+
+    /**
+     * Předchozí verze (null u první).
+     */
+    public GameVersion getParent() {
+        return parent;
+    }
+
+    /**
+     * Pořadí verze od začátku historie.
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayer;
+    }
+
+    /**
+     * Hash stavu (StateHash) v okamžiku vytvoření verze.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    PlayerRecord player(int id) {
+        return players.get(id);
+    }
+
+    TileRecord tile(int index) {
+        return tiles.get(index);
+    }
+
+    // Hráči a pole, ve kterých se verze liší – projde jen nesdílené části
+    void diff(GameVersion other, IntConsumer changedPlayer, IntConsumer changedTile) {
+        players.diff(other.players, changedPlayer);
+        tiles.diff(other.tiles, changedTile);
+    }
+
+    /**
+     * Nová živá hra v této verzi (s vlastním generátorem) – větev "co kdyby", původní hra se nemění.
+     * Hra musí mít stejné složení jako template. Stojí celou kopii (GameState.copy) – pro opakované
+     * větve stačí jednou a dál se přepíná přes fork(scratch).
+     */
+    public GameState fork(GameState template, RandomGenerator random) {
+        return fork(template.copy(random));
+    }
+
+    /**
+     * Přepne pracovní hru scratch do této verze a vrátí ji – další větev bez kopírování.
+     * Přepíší se jen hráči a pole, ve kterých se scratch od verze liší (viz GameState.restoreVersion),
+     * generátor scratch zůstává. Takhle hraje rollouty MctsPolicy.
+     */
+    public GameState fork(GameState scratch) {
+        if (scratch.getPlayers().size() != players.size() || scratch.getBoardSize() != tiles.size()) {
+            throw new IllegalArgumentException("Hra má jiné složení (" + scratch.getPlayers().size() + " hráčů, "
+                    + scratch.getBoardSize() + " polí) než verze (" + players.size() + ", " + tiles.size() + ")");
+        }
+        scratch.restoreVersion(this);
+        return scratch;
+    }
+}
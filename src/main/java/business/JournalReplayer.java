@@ -0,0 +1,170 @@
+package business;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Přehraje žurnál z EventJournal do nového GameState – bez animací a bez náhody,
+ * všechny výsledky (hody, karty) jsou v událostech. Hra se přehrává s pravidly
+ * z hlavičky žurnálu (RuleSet.find), ne s aktuálními.
+ */
+public class JournalReplayer {
+
+    private final MappedByteBuffer buffer;
+    private final List<String> playerNames = new ArrayList<>();
+    private final int dataStart;
+    private final long committed;
+    private final int boardSize;
+    private final String rulesSource;
+    private final long rulesHash;
+
+    public JournalReplayer(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze otevřít žurnál " + file, e);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        int version = buffer.getInt(4);
+        if (buffer.getInt(0) != EventJournal.MAGIC || version < 1 || version > EventJournal.VERSION) {
+            throw new IllegalArgumentException("Soubor " + file + " není žurnál hry");
+        }
+        committed = buffer.getLong(EventJournal.COMMITTED_OFFSET);
+        dataStart = buffer.getInt(EventJournal.DATA_START_OFFSET);
+        int players = buffer.getInt(EventJournal.DATA_START_OFFSET + 4);
+        int pos = EventJournal.DATA_START_OFFSET + 8;
+        // verze 1 znala jen výchozí desku
+        if (version >= 2) {
+            boardSize = buffer.getInt(pos);
+            pos += 4;
+        } else {
+            boardSize = BoardUtils.DEFAULT_BOARD_SIZE;
+        }
+        // verze 1 a 2 vznikly s klasickými pravidly
+        if (version >= 3) {
+            rulesHash = buffer.getLong(pos);
+            byte[] source = new byte[buffer.getShort(pos + 8)];
+            buffer.get(pos + 10, source);
+            rulesSource = new String(source, StandardCharsets.UTF_8);
+            pos += 10 + source.length;
+        } else {
+            RuleSet classic = RuleSet.classic();
+            rulesHash = classic.getHash();
+            rulesSource = classic.getSource();
+        }
+        for (int i = 0; i < players; i++) {
+            byte[] bytes = new byte[buffer.getShort(pos)];
+            buffer.get(pos + 2, bytes);
+            playerNames.add(new String(bytes, StandardCharsets.UTF_8));
+            pos += 2 + bytes.length;
+        }
+        if (dataStart + committed > buffer.capacity()) {
+            throw new IllegalArgumentException("Žurnál " + file + " je useknutý");
+        }
+    }
+
+    public List<String> getPlayerNames() {
+        return playerNames;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * Zdroj pravidel, se kterými hra běžela (soubor nebo classic.rules).
+     */
+    public String getRulesSource() {
+        return rulesSource;
+    }
+
+    public long getEventCount() {
+        return committed / EventJournal.RECORD_SIZE;
+    }
+
+    /**
+     * Přehraje všechny události a vrátí výsledný stav hry.
+     */
+    public GameState replay() {
+        return replay(getEventCount());
+    }
+
+    /**
+     * Přehraje prvních count událostí (stav hry "v čase"). Když pravidla žurnálu nejsou
+     * k dispozici, skončí IllegalStateException.
+     */
+    public GameState replay(long count) {
+        RuleSet rules = RuleSet.find(rulesSource, rulesHash);
+        GameState state = new GameState(playerNames, new SplittableRandom(0), boardSize, rules);
+        forEach(count, (type, player, a, b) -> apply(state, type, player, a, b));
+        return state;
+    }
+
+    /**
+     * Projde události bez jejich aplikace (např. výpis nebo statistiky).
+     */
+    public void forEach(long count, GameEventListener listener) {
+        long limit = Math.min(count, getEventCount());
+        for (long i = 0; i < limit; i++) {
+            int at = (int) (dataStart + i * EventJournal.RECORD_SIZE);
+            listener.onEvent(GameEventType.of(buffer.get(at)), buffer.getShort(at + 2),
+                    buffer.getInt(at + 4), buffer.getInt(at + 8));
+        }
+    }
+
+    static void apply(GameState state, GameEventType type, int playerId, int a, int b) {
+        Player player = state.getPlayers().get(playerId);
+        switch (type) {
+            case TURN -> state.setCurrentPlayerIndex(a);
+            case MOVE -> player.moveTo(a);
+            case BUY -> {
+                Tile tile = state.getTileAt(a);
+                tile.setOwner(player);
+                player.buyProperty(tile);
+                player.subtractMoney(b);
+            }
+            case UPGRADE -> {
+                player.subtractMoney(b);
+                state.getTileAt(a).upgrade();
+            }
+            case RENT -> {
+                player.subtractMoney(b);
+                state.getTileAt(a).getOwner().addMoney(b);
+            }
+            case TAX -> player.subtractMoney(a);
+            case START_BONUS -> player.addMoney(a);
+            case CARD -> state.getDeck().getCard(a).apply(player, state);
+            case JAIL -> player.goToJail();
+            case JAIL_TURN -> player.jailTurn();
+            case ROLL, BANKRUPT -> {
+                // jen informace – bankrot vznikne sám při odečtení peněz
+            }
+        }
+    }
+
+    /**
+     * Výpis stavu hry ze žurnálu: [soubor]
+     */
+    public static void main(String[] args) {
+        JournalReplayer replayer = new JournalReplayer(Path.of(args[0]));
+        long start = System.nanoTime();
+        GameState state = replayer.replay();
+        double ms = (System.nanoTime() - start) / 1e6;
+
+        for (Player p : state.getPlayers()) {
+            System.out.printf("%s: %d Kč, pole %d%s%n", p.getName(), p.getMoney(), p.getPosition(),
+                    p.isBankrupt() ? " (BANKROT)" : "");
+        }
+        System.out.printf("%d událostí přehráno za %.2f ms%n", replayer.getEventCount(), ms);
+    }
+}
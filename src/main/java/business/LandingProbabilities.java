@@ -0,0 +1,76 @@
+package business;
+
+import java.util.List;
+
+/**
+ * Ustálené pravděpodobnosti pro jednu desku (výsledek MarkovSolver).
+ * occupancy = kde hráč stojí na konci tahu, landing = kam dopadne hodem kostkou
+ * (jen tam se platí nájem nebo kupuje).
+ */
+public class LandingProbabilities {
+
+    private final double[] occupancy;
+    private final double[] landing;
+    private final double jail;
+    private final int iterations;
+
+    LandingProbabilities(double[] occupancy, double[] landing, double jail, int iterations) {
+        this.occupancy = occupancy;
+        this.landing = landing;
+        this.jail = jail;
+        this.iterations = iterations;
+    }
+
+    public int getTileCount() {
+        return landing.length;
+    }
+
+    /** Pravděpodobnost, že hráč na konci tahu stojí na poli (včetně vězení). */
+    public double getOccupancy(int tileIndex) {
+        return occupancy[tileIndex];
+    }
+
+    /** Pravděpodobnost, že hráč během jednoho tahu dopadne hodem na pole. */
+    public double getLandingFrequency(int tileIndex) {
+        return landing[tileIndex];
+    }
+
+    /** Podíl tahů, které hráč stráví ve vězení. */
+    public double getJailShare() {
+        return jail;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /** Očekávaný nájem z pole za jeden tah jednoho soupeře (při aktuální úrovni pole). */
+    public double expectedRentPerTurn(Tile tile) {
+        return landing[tile.getIndex()] * tile.getRent();
+    }
+
+    /**
+     * Návratnost za jeden tah soupeře: očekávaný nájem / cena pole.
+     * Převrácená hodnota je počet tahů soupeřů do zaplacení nemovitosti.
+     */
+    public double rentRoi(Tile tile) {
+        if (tile.getPrice() == 0) return 0;
+        return expectedRentPerTurn(tile) / tile.getPrice();
+    }
+
+    /**
+     * Výpis tabulky návratnosti pro desku z BoardUtils.generateTiles().
+     */
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        List<Tile> tiles = BoardUtils.generateTiles();
+        LandingProbabilities probs = MarkovSolver.solve(tiles);
+        double ms = (System.nanoTime() - start) / 1e6;
+
+        for (Tile t : tiles) {
+            System.out.printf("%-8s %-11s dopad %.4f  stání %.4f  ROI %.5f%n", t.getName(), t.getType(),
+                    probs.getLandingFrequency(t.getIndex()), probs.getOccupancy(t.getIndex()), probs.rentRoi(t));
+        }
+        System.out.printf("Vězení %.4f, %d iterací, %.2f ms%n", probs.getJailShare(), probs.getIterations(), ms);
+    }
+}
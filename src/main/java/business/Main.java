@@ -1,69 +1,83 @@
 package business;
 
 import javafx.application.Application;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
-import javafx.scene.layout.HBox;
 import java.util.ArrayList;
 import java.util.List;
 
 public class Main extends Application {
 
-    private int selectedPlayers = 2;                  // Výchozí počet hráčů
-    private final List<TextField> nameFields = new ArrayList<>();
+    private static final int MIN_PLAYERS = 2;
+    private static final int MAX_PLAYERS = 500;      // "party" / zátěžové hry
+
+    // Nastavení hráčů – seznam je virtualizovaný, řádky (TextField + CheckBox) existují jen pro viditelné hráče
+    private final ObservableList<PlayerEntry> entries = FXCollections.observableArrayList();
+
+    private static final class PlayerEntry {
+        private final StringProperty name;
+        private final BooleanProperty bot = new SimpleBooleanProperty(); // zaškrtnutý hráč je počítač (MctsPolicy)
+
+        private PlayerEntry(int number) {
+            name = new SimpleStringProperty("Hráč " + number);
+        }
+    }
 
     @Override
     public void start(Stage stage) {
         VBox root = new VBox(15);
         root.setAlignment(Pos.CENTER);
         root.setPadding(new Insets(20));
-        Scene scene = new Scene(root, 600, 400);
+        Scene scene = new Scene(root, 600, 500);
 
         Label title = new Label("Zadej počet hráčů:");
-        ToggleGroup group = new ToggleGroup();
-
-        // Řádek s toggly pro 2–4 hráče
-        HBox toggles = new HBox(10);
-        toggles.setAlignment(Pos.CENTER);
-
-        for (int i = 2; i <= 4; i++) {
-            ToggleButton btn = new ToggleButton(i + " hráči");
-            btn.setToggleGroup(group);
-            if (i == 2) btn.setSelected(true); // výchozí
-            btn.setUserData(i);
-            btn.setOnAction(e -> {
-                selectedPlayers = (int) btn.getUserData();
-                refreshNameFields(root);
-            });
-            toggles.getChildren().add(btn);
-        }
 
-        root.getChildren().addAll(title, toggles);
+        // Počet hráčů 2–MAX_PLAYERS (výchozí 2)
+        Spinner<Integer> count = new Spinner<>(MIN_PLAYERS, MAX_PLAYERS, MIN_PLAYERS);
+        count.setEditable(true);
+        count.valueProperty().addListener((obs, old, value) -> resize(value));
+        resize(count.getValue());
+
+        CheckBox allBots = new CheckBox("Všichni jsou počítač");
+        allBots.setOnAction(e -> entries.forEach(entry -> entry.bot.set(allBots.isSelected())));
+        HBox countRow = new HBox(10, count, allBots);
+        countRow.setAlignment(Pos.CENTER);
+
+        ListView<PlayerEntry> list = new ListView<>(entries);
+        list.setCellFactory(v -> new PlayerEntryCell());
+        VBox.setVgrow(list, Priority.ALWAYS);
 
-        // Dynamicky generujeme jména hráčů
-        refreshNameFields(root);
+        root.getChildren().addAll(title, countRow, list);
 
         // Tlačítko "Spustit hru"
         Button startBtn = new Button("Spustit hru");
         startBtn.setOnAction(e -> {
-            // Z každého jméno textfieldu sebere text
+            // Z každého řádku sebere jméno a příznak počítače
             List<String> playerNames = new ArrayList<>();
-            for (TextField tf : nameFields) {
-                String name = tf.getText().trim();
+            List<Boolean> bots = new ArrayList<>();
+            for (PlayerEntry entry : entries) {
+                String name = entry.name.get().trim();
                 if (name.isEmpty()) {
                     name = "Hráč";
                 }
                 playerNames.add(name);
+                bots.add(entry.bot.get());
             }
 
-            // Vytvoří instanci GameScene s těmito jmény
-            GameScene game = new GameScene(stage, playerNames);
-            // Nastavíme novou scénu
-            stage.setScene(game.getScene());
+            // GameScene se skládá na pozadí, mezitím je vidět úvodní obrazovka
+            GameScene.show(stage, playerNames, bots);
         });
 
         root.getChildren().add(startBtn);
@@ -74,21 +88,49 @@ public class Main extends Application {
     }
 
     /**
-     * Pomocná metoda – vymaže staré text fieldy a vytvoří je znovu
-     * podle zvoleného počtu hráčů.
+     * Pomocná metoda – přidá nebo ubere hráče na konci seznamu,
+     * už zadaná jména zůstanou.
      */
-    private void refreshNameFields(VBox root) {
-        // Smažeme staré textfieldy (pokud tam nějaké byly)
-        // Ponecháme v root vše kromě toggles / start buttonu / labelu – proto to řešíme ručně
-        nameFields.clear();
-        root.getChildren().removeIf(node -> node instanceof TextField);
-
-        for (int i = 1; i <= selectedPlayers; i++) {
-            TextField tf = new TextField("Hráč " + i);
-            tf.setPromptText("Jméno hráče " + i);
-            nameFields.add(tf);
-            root.getChildren().add(root.getChildren().size() - 1, tf);
-            // vkládáme textfieldy "nahoru" před tlačítko start
+    private void resize(int players) {
+        if (entries.size() > players) {
+            entries.remove(players, entries.size());
+        }
+        List<PlayerEntry> added = new ArrayList<>();
+        for (int i = entries.size() + 1; i <= players; i++) {
+            added.add(new PlayerEntry(i));
+        }
+        entries.addAll(added);
+    }
+
+    // Řádek seznamu – při posunu se přepojí na jiného hráče
+    private static final class PlayerEntryCell extends ListCell<PlayerEntry> {
+        private final TextField nameField = new TextField();
+        private final CheckBox botBox = new CheckBox("Počítač");
+        private final HBox row = new HBox(10, nameField, botBox);
+        private PlayerEntry bound;
+
+        PlayerEntryCell() {
+            row.setAlignment(Pos.CENTER);
+            HBox.setHgrow(nameField, Priority.ALWAYS);
+        }
+
+        @Override
+        protected void updateItem(PlayerEntry entry, boolean empty) {
+            super.updateItem(entry, empty);
+            if (bound != null) {
+                nameField.textProperty().unbindBidirectional(bound.name);
+                botBox.selectedProperty().unbindBidirectional(bound.bot);
+                bound = null;
+            }
+            if (empty || entry == null) {
+                setGraphic(null);
+                return;
+            }
+            nameField.setPromptText("Jméno hráče " + (getIndex() + 1));
+            nameField.textProperty().bindBidirectional(entry.name);
+            botBox.selectedProperty().bindBidirectional(entry.bot);
+            bound = entry;
+            setGraphic(row);
         }
     }
 
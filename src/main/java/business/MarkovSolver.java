@@ -0,0 +1,140 @@
+package business;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Přesný výpočet pravděpodobností dopadu na pole pomocí Markovova řetězce.
+ *
+ * Stavy: pozice 0..n-1 mimo vězení a tři stavy ve vězení (zbývá 3, 2, 1 tah,
+ * viz Player.jailTurn). Přechody pokrývají hod kostkou (Player.move), pole s efektem JAIL
+ * a přesuny z karet na polích s efektem CARD (ChanceCard.moveTarget). Ustálený stav se hledá
+ * mocninnou metodou nad řídkou maticí (CSR). Výsledky se cachují podle efektů polí a sady karet.
+ */
+public final class MarkovSolver {
+
+    private static final double EPSILON = 1e-13;
+    private static final int MAX_ITERATIONS = 100_000;
+
+    private static final Map<BoardKey, LandingProbabilities> cache = new ConcurrentHashMap<>();
+
+    private record BoardKey(List<RuleSet.TileEffect> effects, List<ChanceCard> cards) {
+    }
+
+    private MarkovSolver() {
+    }
+
+    /**
+     * Vrátí pravděpodobnosti pro danou desku s aktuálními pravidly; počítá jen při změně.
+     */
+    public static LandingProbabilities solve(List<Tile> tiles) {
+        return solve(tiles, RuleSet.current());
+    }
+
+    /**
+     * Zamíchaný balíček se po vyčerpání míchá znovu, takže v ustáleném stavu
+     * je každá karta stejně pravděpodobná – stačí složení balíčku.
+     */
+    public static LandingProbabilities solve(List<Tile> tiles, RuleSet rules) {
+        List<RuleSet.TileEffect> effects = new ArrayList<>(tiles.size());
+        for (Tile t : tiles) {
+            effects.add(rules.getEffect(t.getType()));
+        }
+        BoardKey key = new BoardKey(List.copyOf(effects), rules.getCards());
+        return cache.computeIfAbsent(key, k -> compute(k.effects(), k.cards()));
+    }
+
+    private static LandingProbabilities compute(List<RuleSet.TileEffect> effects, List<ChanceCard> cards) {
+        int n = effects.size();
+        int states = n + Player.JAIL_TURNS; // n volných pozic + vězení (3, 2, 1 zbývající tah)
+        int jail = BoardUtils.jailTile(n);
+
+        int[] cardTargets = new int[cards.size()];
+        for (int i = 0; i < cards.size(); i++) {
+            cardTargets[i] = cards.get(i).moveTarget();
+        }
+
+        // Sestavení řídké matice po řádcích (CSR)
+        int[] rowStart = new int[states + 1];
+        int[] cols = new int[states * (GameRules.DICE_SIDES * (cards.size() + 1) + 1)];
+        double[] probs = new double[cols.length];
+        double[] row = new double[states];
+        int nnz = 0;
+
+        for (int s = 0; s < states; s++) {
+            Arrays.fill(row, 0);
+            if (s >= n) {
+                // ve vězení: odpočet, po posledním tahu je hráč volný na poli vězení
+                row[s + 1 < states ? s + 1 : jail] = 1;
+            } else {
+                double pRoll = 1.0 / GameRules.DICE_SIDES;
+                for (int d = 1; d <= GameRules.DICE_SIDES; d++) {
+                    int q = Math.floorMod(s - d, n);
+                    switch (effects.get(q)) {
+                        case JAIL -> row[n] += pRoll;
+                        case CARD -> {
+                            double pCard = pRoll / cards.size();
+                            for (int target : cardTargets) {
+                                if (target == ChanceCard.GO_TO_JAIL) row[n] += pCard;
+                                else if (target == ChanceCard.NO_MOVE) row[q] += pCard;
+                                else row[target % n] += pCard;
+                            }
+                        }
+                        default -> row[q] += pRoll;
+                    }
+                }
+            }
+            rowStart[s] = nnz;
+            for (int c = 0; c < states; c++) {
+                if (row[c] != 0) {
+                    cols[nnz] = c;
+                    probs[nnz++] = row[c];
+                }
+            }
+        }
+        rowStart[states] = nnz;
+
+        // Mocninná metoda: pi_{k+1} = pi_k * P
+        double[] pi = new double[states];
+        double[] next = new double[states];
+        Arrays.fill(pi, 0, n, 1.0 / n);
+        int iterations = 0;
+        double diff = 1;
+        while (diff > EPSILON && iterations < MAX_ITERATIONS) {
+            Arrays.fill(next, 0);
+            for (int s = 0; s < states; s++) {
+                double mass = pi[s];
+                if (mass == 0) continue;
+                for (int k = rowStart[s]; k < rowStart[s + 1]; k++) {
+                    next[cols[k]] += mass * probs[k];
+                }
+            }
+            diff = 0;
+            for (int s = 0; s < states; s++) {
+                diff += Math.abs(next[s] - pi[s]);
+            }
+            double[] tmp = pi;
+            pi = next;
+            next = tmp;
+            iterations++;
+        }
+
+        double[] occupancy = new double[n];
+        double[] landing = new double[n];
+        double jailShare = 0;
+        for (int s = 0; s < n; s++) {
+            occupancy[s] += pi[s];
+            for (int d = 1; d <= GameRules.DICE_SIDES; d++) {
+                landing[Math.floorMod(s - d, n)] += pi[s] / GameRules.DICE_SIDES;
+            }
+        }
+        for (int s = n; s < states; s++) {
+            occupancy[jail] += pi[s];
+            jailShare += pi[s];
+        }
+        return new LandingProbabilities(occupancy, landing, jailShare, iterations);
+    }
+}
@@ -0,0 +1,200 @@
+package business;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Počítačový hráč rozhodující v nabídce nemovitosti (koupit / vylepšit / odmítnout)
+ * pomocí Monte Carlo vyhledávání. Strom má jen jednu úroveň: kořen se dvěma akcemi
+ * (provést / odmítnout) vybíranými podle UCB1 (bandit), každá iterace odehraje rollout
+ * z kopie stavu se strategií ALWAYS_BUY pro všechny hráče.
+ * Každý worker si kopii (GameState.copy) udělá jen jednou a před rolloutem ji vrátí
+ * do výchozí verze (GameVersion.fork(scratch)) – přepíší se jen hráči a pole změnění
+ * rolloutem. Rollouty běží paralelně na ForkJoinPoolu, dokud nevyprší časový rozpočet.
+ *
+ * Statistiky patří jen jednomu rozhodnutí – každé začíná od nuly. Rollouty z jiného stavu
+ * (jiné peníze, majetek soupeřů) by odhad pro aktuální stav jen zkreslily.
+ */
+public class MctsPolicy implements DecisionPolicy {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+    // turbo hraje stovky tahů bez animací – menší rozpočet, aby hra botů trvala zlomky sekundy
+    public static final long TURBO_BUDGET_MILLIS = 2;
+    private static final int HORIZON = 200;          // tahů na rollout
+    private static final double EXPLORATION = 1.4;
+    private static final int ACT = 0;
+    private static final int DECLINE = 1;
+
+    private final long budgetNanos;
+    private final ForkJoinPool pool;
+    private final SplittableRandom seeds;
+    private volatile long lastRollouts;
+
+    public MctsPolicy() {
+        this(DEFAULT_BUDGET_MILLIS, ForkJoinPool.commonPool(), new SplittableRandom());
+    }
+
+    public MctsPolicy(long budgetMillis, ForkJoinPool pool, SplittableRandom seeds) {
+        this.budgetNanos = budgetMillis * 1_000_000;
+        this.pool = pool;
+        this.seeds = seeds;
+    }
+
+    @Override
+    public boolean shouldBuy(Player player, Tile tile, GameState state) {
+        return decide(player, tile, state);
+    }
+
+    @Override
+    public boolean shouldUpgrade(Player player, Tile tile, GameState state) {
+        return decide(player, tile, state);
+    }
+
+    /**
+     * Počet rolloutů posledního rozhodnutí (pro ladění a benchmarky).
+     */
+    public long getLastRollouts() {
+        return lastRollouts;
+    }
+
+    /**
+     * Vyhledá, zda na poli hráče akci (koupi nebo upgrade) provést. Stav se zkopíruje hned
+     * na volajícím vlákně, takže hra se během hledání smí dál měnit (a GameScene čeká
+     * na výsledek asynchronně).
+     */
+    public synchronized boolean decide(Player player, Tile tile, GameState state) {
+        GameState root = state.copy(seeds.split());
+        Node node = new Node();
+        long deadline = System.nanoTime() + budgetNanos;
+
+        int workers = pool.getParallelism();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(pool.submit(new Search(root, player.getId(), tile.getIndex(), node, deadline, seeds.split())));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        lastRollouts = node.total();
+        return node.best() == ACT;
+    }
+
+    /**
+     * Jeden worker: dokud je čas, vybere akci podle UCB1, odehraje rollout a zapíše výsledek.
+     */
+    private static final class Search implements Runnable {
+        private final GameState root;
+        private final int playerId;
+        private final int tileIndex;
+        private final Node node;
+        private final long deadline;
+        private final SplittableRandom random;
+        private GameState scratch;  // pracovní kopie workeru
+        private GameVersion start;  // verze scratch v okamžiku rozhodnutí
+
+        Search(GameState root, int playerId, int tileIndex, Node node, long deadline, SplittableRandom random) {
+            this.root = root;
+            this.playerId = playerId;
+            this.tileIndex = tileIndex;
+            this.node = node;
+            this.deadline = deadline;
+            this.random = random;
+        }
+
+        @Override
+        public void run() {
+            scratch = root.copy(random.split());
+            start = scratch.commitVersion();
+            do {
+                int action = node.select();
+                node.update(action, rollout(action));
+            } while (System.nanoTime() < deadline);
+        }
+
+        private double rollout(int action) {
+            start.fork(scratch);
+            Player player = scratch.getPlayers().get(playerId);
+            Tile tile = scratch.getTileAt(tileIndex);
+            if (action == ACT) {
+                if (!tile.isOwned() && GameRules.canBuy(player, tile)) {
+                    GameRules.buy(player, tile, scratch);
+                } else if (GameRules.canUpgrade(player, tile)) {
+                    GameRules.upgrade(player, tile, scratch);
+                }
+            }
+            // dokončení rozehraného tahu stejně jako TurnEngine.playTurn
+            if (scratch.getActivePlayerCount() > 1) {
+                scratch.nextPlayer();
+            }
+            TurnEngine engine = new TurnEngine(scratch,
+                    Collections.nCopies(scratch.getPlayers().size(), DecisionPolicy.ALWAYS_BUY));
+            GameResult result = engine.playGame(HORIZON);
+            if (result.hasWinner()) {
+                return result.winnerId() == playerId ? 1 : 0;
+            }
+            return netWorthShare(scratch, playerId);
+        }
+    }
+
+    // Nedohraná hra: podíl hráče na celkovém majetku aktivních hráčů
+    // (O(1) na hráče přes OwnershipIndex)
+    static double netWorthShare(GameState state, int playerId) {
+        OwnershipIndex ownership = state.getOwnership();
+        double total = 0;
+        double mine = 0;
+        for (Player p : state.getPlayers()) {
+            if (p.isBankrupt()) {
+                continue;
+            }
+            double worth = ownership.getNetWorth(p);
+            total += worth;
+            if (p.getId() == playerId) {
+                mine = worth;
+            }
+        }
+        return total <= 0 ? 0 : mine / total;
+    }
+
+    /**
+     * Statistiky dvou akcí jednoho rozhodnutí. Aktualizace jsou krátké, stačí monitor.
+     */
+    private static final class Node {
+        private final long[] visits = new long[2];
+        private final double[] reward = new double[2];
+
+        synchronized int select() {
+            long total = visits[ACT] + visits[DECLINE];
+            int best = ACT;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int a = 0; a < 2; a++) {
+                if (visits[a] == 0) {
+                    return a;
+                }
+                double score = reward[a] / visits[a] + EXPLORATION * Math.sqrt(Math.log(total) / visits[a]);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = a;
+                }
+            }
+            return best;
+        }
+
+        synchronized void update(int action, double value) {
+            visits[action]++;
+            reward[action] += value;
+        }
+
+        synchronized long total() {
+            return visits[ACT] + visits[DECLINE];
+        }
+
+        // robustní volba: nejvíc navštívená akce
+        synchronized int best() {
+            return visits[ACT] >= visits[DECLINE] ? ACT : DECLINE;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package business;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Spouští velké množství headless her přes TurnEngine na všech jádrech
+ * (paralelní stream nad společným ForkJoinPoolem). Každá hra má vlastní
+ * SplittableRandom odvozený ze seedu a indexu hry, takže výsledek nezávisí na počtu vláken.
+ */
+public class MonteCarloSimulator {
+
+    public static final int DEFAULT_MAX_TURNS = 2000;
+
+    private final List<String> playerNames;
+    private final List<DecisionPolicy> policies;
+    private final int maxTurns;
+
+    public MonteCarloSimulator(List<String> playerNames, List<DecisionPolicy> policies, int maxTurns) {
+        if (playerNames.size() != policies.size()) {
+            throw new IllegalArgumentException("Každý hráč potřebuje právě jednu strategii");
+        }
+        this.playerNames = List.copyOf(playerNames);
+        this.policies = List.copyOf(policies);
+        this.maxTurns = maxTurns;
+    }
+
+    public Summary run(long games, long seed) {
+        return LongStream.range(0, games)
+                .parallel()
+                .collect(() -> new Summary(playerNames.size()),
+                        (summary, i) -> summary.add(playGame(seed, i)),
+                        Summary::merge);
+    }
+
+    public GameResult playGame(long seed, long gameIndex) {
+        GameState state = new GameState(playerNames, gameSeed(seed, gameIndex));
+        return new TurnEngine(state, policies).playGame(maxTurns);
+    }
+
+    /**
+     * Seed jedné hry – stejné odvození používá BatchSimulator, takže hra g dopadne v obou stejně.
+     */
+    public static long gameSeed(long seed, long gameIndex) {
+        return seed + gameIndex * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Souhrn výsledků – sčítá se po vláknech a na konci se slučuje.
+     */
+    public static final class Summary {
+        private final long[] wins;
+        private long games = 0;
+        private long unfinished = 0;
+        private long totalTurns = 0;
+
+        Summary(int players) {
+            this.wins = new long[players];
+        }
+
+        void add(GameResult result) {
+            games++;
+            totalTurns += result.turns();
+            if (result.hasWinner()) {
+                wins[result.winnerId()]++;
+            } else {
+                unfinished++;
+            }
+        }
+
+        void merge(Summary other) {
+            games += other.games;
+            unfinished += other.unfinished;
+            totalTurns += other.totalTurns;
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+            }
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getWins(int playerId) {
+            return wins[playerId];
+        }
+
+        public long getUnfinished() {
+            return unfinished;
+        }
+
+        public double getAverageTurns() {
+            return games == 0 ? 0 : (double) totalTurns / games;
+        }
+    }
+
+    /**
+     * Spuštění z příkazové řádky: [počet her] [počet hráčů] [seed]
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= players; i++) {
+            names.add("Hráč " + i);
+        }
+        MonteCarloSimulator simulator = new MonteCarloSimulator(names,
+                Collections.nCopies(players, DecisionPolicy.ALWAYS_BUY), DEFAULT_MAX_TURNS);
+
+        long start = System.nanoTime();
+        Summary summary = simulator.run(games, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (int i = 0; i < players; i++) {
+            System.out.printf("%s: %d výher%n", names.get(i), summary.getWins(i));
+        }
+        System.out.printf("Nedohráno: %d, průměrně %.1f tahů%n", summary.getUnfinished(), summary.getAverageTurns());
+        System.out.printf("%d her za %.2f s (%.0f her/min)%n", summary.getGames(), seconds, summary.getGames() / seconds * 60);
+    }
+}
@@ -0,0 +1,128 @@
+package business;
+
+import java.util.List;
+
+/**
+ * Index vlastnictví jedné hry: bitová maska polí pro každého hráče (po 64bitových slovech,
+ * takže zvládne desku libovolné velikosti), počty polí v každé barevné skupině
+ * a průběžná hodnota nemovitostí hráče. Dotazy "má celou skupinu",
+ * "kolik má nemovitostí" a "jaký má majetek" jsou O(1) bez procházení seznamů.
+ * Aktualizuje ho Tile při změně vlastníka nebo úrovně.
+ */
+public final class OwnershipIndex {
+
+    public static final int GROUP_RENT_MULTIPLIER = 2; // nezastavěné pole z kompletní skupiny
+
+    private final List<Tile> tiles;
+    private final int words;         // slov masky na hráče
+    private final int groups;
+    private final long[] playerMask; // [hráč * words + slovo]
+    private final int[] propertyCount;
+    private final int[] propertyValue;
+    private final int[] groupSize;
+    private final int[] groupOwned;  // [hráč * groups + skupina] = kolik polí skupiny hráč má
+
+    OwnershipIndex(List<Tile> tiles, int players) {
+        this.tiles = tiles;
+        this.words = (tiles.size() + Long.SIZE - 1) / Long.SIZE;
+        this.playerMask = new long[players * words];
+        this.propertyCount = new int[players];
+        this.propertyValue = new int[players];
+        int groupCount = 0;
+        for (Tile t : tiles) {
+            groupCount = Math.max(groupCount, t.getGroup() + 1);
+        }
+        this.groups = groupCount;
+        this.groupSize = new int[groups];
+        this.groupOwned = new int[players * groups];
+        for (Tile t : tiles) {
+            if (t.getGroup() >= 0) {
+                groupSize[t.getGroup()]++;
+            }
+        }
+    }
+
+    // Volá Tile po změně vlastníka nebo úrovně (předchozí vlastník a hodnota pole před změnou)
+    void update(Tile tile, Player previousOwner, int previousValue) {
+        int word = tile.getIndex() >>> 6;
+        long bit = 1L << tile.getIndex();
+        int group = tile.getGroup();
+        Player owner = tile.getOwner();
+        if (previousOwner != null) {
+            int p = previousOwner.getId();
+            propertyValue[p] -= previousValue;
+            if (owner != previousOwner) {
+                playerMask[p * words + word] &= ~bit;
+                propertyCount[p]--;
+                if (group >= 0) groupOwned[p * groups + group]--;
+            }
+        }
+        if (owner != null) {
+            int p = owner.getId();
+            propertyValue[p] += tile.getValue();
+            if (owner != previousOwner) {
+                playerMask[p * words + word] |= bit;
+                propertyCount[p]++;
+                if (group >= 0) groupOwned[p * groups + group]++;
+            }
+        }
+    }
+
+    /**
+     * Vrátí všechna pole hráče bance (bankrot): bez vlastníka a bez domů.
+     */
+    void release(Player player) {
+        int base = player.getId() * words;
+        for (int w = 0; w < words; w++) {
+            long mask = playerMask[base + w];
+            while (mask != 0) {
+                Tile tile = tiles.get(w * Long.SIZE + Long.numberOfTrailingZeros(mask));
+                mask &= mask - 1;
+                tile.restoreLevel(0);
+                tile.setOwner(null);
+            }
+        }
+    }
+
+    public boolean owns(int player, int tile) {
+        return (playerMask[player * words + (tile >>> 6)] & 1L << tile) != 0;
+    }
+
+    public int getPropertyCount(int player) {
+        return propertyCount[player];
+    }
+
+    public int getGroupCount() {
+        return groups;
+    }
+
+    public int getGroupSize(int group) {
+        return groupSize[group];
+    }
+
+    public boolean ownsGroup(int player, int group) {
+        return group >= 0 && groupOwned[player * groups + group] == groupSize[group];
+    }
+
+    /**
+     * Počet polí skupiny, která hráči chybí do kompletu (0 = má celou skupinu).
+     */
+    public int missingInGroup(int player, int group) {
+        return groupSize[group] - groupOwned[player * groups + group];
+    }
+
+    public int getRentMultiplier(Tile tile) {
+        Player owner = tile.getOwner();
+        return owner != null && tile.getLevel() == 0 && ownsGroup(owner.getId(), tile.getGroup())
+                ? GROUP_RENT_MULTIPLIER : 1;
+    }
+
+    /** Hodnota nemovitostí hráče (ceny polí + investice do domů). */
+    public int getPropertyValue(int player) {
+        return propertyValue[player];
+    }
+
+    public int getNetWorth(Player player) {
+        return player.getMoney() + propertyValue[player.getId()];
+    }
+}
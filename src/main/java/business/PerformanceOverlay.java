@@ -0,0 +1,177 @@
+package business;
+
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Material;
+import javafx.scene.shape.Shape3D;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Diagnostický panel (zapíná se F3): FPS a rozložení doby snímku z AnimationTimeru,
+ * počet uzlů a materiálů ve 3D scéně, běžící animace, heap a GC, na konci časy fází startu.
+ * Doba snímku se sbírá každý pulz do kruhového bufferu, text se přepisuje dvakrát za sekundu.
+ */
+public class PerformanceOverlay {
+
+    private static final int FRAMES = 240;               // ~4 s při 60 FPS
+    private static final long REFRESH_NANOS = 500_000_000L;
+
+    private final Parent root3D;
+    private final Label label = new Label();
+    private final long[] frameNanos = new long[FRAMES];
+    private final long[] sorted = new long[FRAMES];
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private int frameCount = 0;
+    private long lastFrame = 0;
+    private long lastRefresh = 0;
+    private long lastGcCount = 0;
+    private long lastGcMillis = 0;
+    private int runningAnimations = 0;
+    private EventStats eventStats; // statistika sběrnice událostí (může být null)
+    private long lastEventTotal = 0;
+    private String startupReport;  // StartupTimer.report() (může být null)
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (lastFrame != 0) {
+                frameNanos[frameCount++ % FRAMES] = now - lastFrame;
+            }
+            lastFrame = now;
+            if (now - lastRefresh >= REFRESH_NANOS) {
+                lastRefresh = now;
+                refresh();
+            }
+        }
+    };
+
+    public PerformanceOverlay(Parent root3D) {
+        this.root3D = root3D;
+        label.setStyle("""
+            -fx-font-family: monospace;
+            -fx-font-size: 13px;
+            -fx-text-fill: #00ff66;
+            -fx-background-color: #000000b0;
+            -fx-padding: 8;
+        """);
+        label.setMouseTransparent(true);
+        label.setVisible(false);
+        StackPane.setAlignment(label, Pos.BOTTOM_CENTER);
+    }
+
+    public Node getNode() {
+        return label;
+    }
+
+    public void toggle() {
+        if (label.isVisible()) {
+            timer.stop();
+            label.setVisible(false);
+        } else {
+            lastFrame = 0;
+            frameCount = 0;
+            label.setVisible(true);
+            label.toFront();
+            timer.start();
+        }
+    }
+
+    /**
+     * Zobrazí i počet herních událostí a jejich tempo (GameEventBus).
+     */
+    public void setEventStats(EventStats stats) {
+        this.eventStats = stats;
+    }
+
+    /**
+     * Připojí na konec panelu časy fází startu hry (StartupTimer).
+     */
+    public void setStartupReport(String report) {
+        this.startupReport = report;
+    }
+
+    /**
+     * Započítá animaci do "běžících", dokud neskončí (GameScene sem posílá kostku a pohyby figurek).
+     */
+    public void track(Animation animation) {
+        animation.statusProperty().addListener((obs, old, status) -> {
+            if (status == Animation.Status.RUNNING) {
+                runningAnimations++;
+            } else if (old == Animation.Status.RUNNING) {
+                runningAnimations--;
+            }
+        });
+    }
+
+    private void refresh() {
+        int n = Math.min(frameCount, FRAMES);
+        String frames = "FPS: –";
+        if (n > 0) {
+            System.arraycopy(frameNanos, 0, sorted, 0, n);
+            Arrays.sort(sorted, 0, n);
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += sorted[i];
+            }
+            frames = String.format("FPS: %.0f   snímek p50 %.1f / p95 %.1f / p99 %.1f / max %.1f ms",
+                    1e9 * n / sum, ms(sorted[n / 2]), ms(sorted[n * 95 / 100]), ms(sorted[n * 99 / 100]), ms(sorted[n - 1]));
+        }
+
+        Set<Material> materials = Collections.newSetFromMap(new IdentityHashMap<>());
+        int nodes = countNodes(root3D, materials);
+
+        Runtime rt = Runtime.getRuntime();
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        String text = frames
+                + String.format("%n3D uzly: %d   materiály: %d   animace: %d", nodes, materials.size(), runningAnimations)
+                + String.format("%nheap: %.1f / %.1f MiB   GC: %d× (+%d), %d ms (+%d ms)",
+                (rt.totalMemory() - rt.freeMemory()) / 1048576.0, rt.maxMemory() / 1048576.0,
+                gcCount, gcCount - lastGcCount, gcMillis, gcMillis - lastGcMillis);
+        lastGcCount = gcCount;
+        lastGcMillis = gcMillis;
+        if (eventStats != null) {
+            long total = eventStats.getTotal();
+            text += String.format("%nudálosti: %d (%.0f/s)   nájem celkem: %d Kč",
+                    total, (total - lastEventTotal) * 1e9 / REFRESH_NANOS, eventStats.getAmount(GameEventType.RENT));
+            lastEventTotal = total;
+        }
+        if (startupReport != null) {
+            text += System.lineSeparator() + startupReport;
+        }
+        label.setText(text);
+    }
+
+    private static int countNodes(Node node, Set<Material> materials) {
+        int count = 1;
+        if (node instanceof Shape3D shape && shape.getMaterial() != null) {
+            materials.add(shape.getMaterial());
+        }
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                count += countNodes(child, materials);
+            }
+        }
+        return count;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,110 @@
+package business;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Neměnný vektor pevné délky se sdílením struktury: 32cestný trie, set() zkopíruje jen
+ * cestu od kořene k listu (O(log32 n)) a zbytek sdílí s původní verzí. Dvě verze
+ * odvozené jedna z druhé se dají porovnat jen přes podstromy, které se opravdu liší (diff).
+ */
+public final class PersistentVector<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final Object[] root;
+    private final int size;
+    private final int shift; // BITS * (hloubka - 1)
+
+    private PersistentVector(Object[] root, int size, int shift) {
+        this.root = root;
+        this.size = size;
+        this.shift = shift;
+    }
+
+    public static <T> PersistentVector<T> of(List<T> items) {
+        int shift = 0;
+        while ((long) WIDTH << shift < items.size()) {
+            shift += BITS;
+        }
+        return new PersistentVector<>(build(items, 0, shift), items.size(), shift);
+    }
+
+    private static Object[] build(List<?> items, int from, int shift) {
+        Object[] node = new Object[WIDTH];
+        if (shift == 0) {
+            for (int i = 0; i < WIDTH && from + i < items.size(); i++) {
+                node[i] = items.get(from + i);
+            }
+        } else {
+            int span = 1 << shift;
+            for (int i = 0; i < WIDTH && from + i * span < items.size(); i++) {
+                node[i] = build(items, from + i * span, shift - BITS);
+            }
+        }
+        return node;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return (T) node[index & MASK];
+    }
+
+    /**
+     * Nová verze s jinou hodnotou na indexu; tahle verze zůstává beze změny.
+     */
+    public PersistentVector<T> set(int index, T value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return new PersistentVector<>(set(root, shift, index, value), size, shift);
+    }
+
+    private static Object[] set(Object[] node, int level, int index, Object value) {
+        Object[] copy = node.clone();
+        int slot = (index >>> level) & MASK;
+        copy[slot] = level == 0 ? value : set((Object[]) node[slot], level - BITS, index, value);
+        return copy;
+    }
+
+    /**
+     * Zavolá changed pro každý index, kde se verze liší (porovnání identitou). Sdílené
+     * podstromy se přeskočí, takže cena odpovídá počtu změn, ne délce vektoru.
+     */
+    public void diff(PersistentVector<T> other, IntConsumer changed) {
+        if (other.size != size || other.shift != shift) {
+            throw new IllegalArgumentException("Verze různých vektorů");
+        }
+        diff(root, other.root, shift, 0, changed);
+    }
+
+    private void diff(Object[] a, Object[] b, int level, int base, IntConsumer changed) {
+        if (a == b) {
+            return;
+        }
+        for (int i = 0; i < WIDTH; i++) {
+            int index = base + (i << level);
+            if (index >= size) {
+                return;
+            }
+            if (a[i] == b[i]) {
+                continue;
+            }
+            if (level == 0) {
+                changed.accept(index);
+            } else {
+                diff((Object[]) a[i], (Object[]) b[i], level - BITS, index, changed);
+            }
+        }
+    }
+}
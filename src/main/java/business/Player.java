@@ -1,48 +1,82 @@
 package business;
 
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.PhongMaterial;
-import javafx.scene.shape.Sphere;
-
-import java.util.ArrayList;
-import java.util.List;
+import javafx.scene.shape.MeshView;
 
 public class Player {
 
+    public static final int START_MONEY = 1500;
+    public static final int JAIL_TURNS = 3;
+
     private final int id;
     private final String name;
     private int position = 0;
-    private int money = 1500;
-    private final Sphere figure;
+    private int money = START_MONEY;
+    private final Color color;
+    private MeshView figure; // vytváří se až při prvním vykreslení (headless simulace ji nepotřebují)
 
     private boolean bankrupt = false;
 
     private boolean inJail = false;
     private int jailTurns = 0;
 
-    private final List<Tile> ownedProperties = new ArrayList<>();
+    private GameState state; // hra, které hráč patří (kvůli událostem), může být null
+    private int boardSize = BoardUtils.DEFAULT_BOARD_SIZE;
+    private StateHash hash; // hash stavu hry, mění se s každou změnou hráče (může být null)
+
+    private final ObservableList<Tile> ownedProperties = FXCollections.observableArrayList();
+
+    // Property pro HUD se vytváří až na vyžádání – simulace bez UI platí jen za int/boolean
+    private ReadOnlyIntegerWrapper moneyProperty;
+    private ReadOnlyBooleanWrapper bankruptProperty;
 
     public Player(int id, Color color, String name) {
         this.id = id;
         this.name = name;
-        this.figure = new Sphere(BoardUtils.TILE_SIZE / 4.5);
-        this.figure.setMaterial(new PhongMaterial(color));
-        this.figure.setTranslateY(-BoardUtils.TILE_HEIGHT - 3);
+        this.color = color;
     }
 
 
     public void move(int steps) {
         if (inJail) return;
-        position = (position - steps + 40) % 40;
+        setPosition(Math.floorMod(position - steps, boardSize));
     }
 
     public void moveTo(int index) {
-        position = index % 40;
+        setPosition(index % boardSize);
+    }
+
+    void attach(GameState state) {
+        this.state = state;
+        this.boardSize = state.getBoardSize();
+        this.hash = state.getHash();
     }
 
     public void setBankrupt() {
+        boolean wasBankrupt = bankrupt;
         bankrupt = true;
+        if (hash != null) hash.bankrupt(id, wasBankrupt, true);
+        if (state != null) state.markPlayer(id);
+        if (bankruptProperty != null) bankruptProperty.set(true);
         ownedProperties.clear();
+        if (!wasBankrupt && state != null) {
+            state.removeActive(this);
+            state.getOwnership().release(this); // pole se vrací bance
+            state.emit(GameEventType.BANKRUPT, id, 0, 0);
+        }
+    }
+
+    public ReadOnlyBooleanProperty bankruptProperty() {
+        if (bankruptProperty == null) {
+            bankruptProperty = new ReadOnlyBooleanWrapper(this, "bankrupt", bankrupt);
+        }
+        return bankruptProperty.getReadOnlyProperty();
     }
 
     public boolean isBankrupt() {
@@ -54,28 +88,47 @@ public class Player {
     }
 
     public void goToJail() {
-        inJail = true;
-        jailTurns = 3;
-        moveTo(10);
+        inJail = true; // změnu zaznamená setJailTurns
+        setJailTurns(JAIL_TURNS);
+        moveTo(BoardUtils.jailTile(boardSize));
     }
 
     public void jailTurn() {
         if (jailTurns > 0) {
-            jailTurns--;
+            setJailTurns(jailTurns - 1);
             if (jailTurns == 0) inJail = false;
         }
     }
 
+    public int getJailTurns() {
+        return jailTurns;
+    }
+
+    // Obnova stavu ze snapshotu (GameSnapshot) – mimo pravidla, nic nevysílá
+    void restore(int position, int money, boolean bankrupt, boolean inJail, int jailTurns) {
+        setPosition(position);
+        setMoney(money);
+        if (hash != null) hash.bankrupt(id, this.bankrupt, bankrupt);
+        this.bankrupt = bankrupt;
+        if (bankruptProperty != null) bankruptProperty.set(bankrupt);
+        if (state != null) {
+            state.invalidateActivePlayers();
+            state.markPlayer(id);
+        }
+        this.inJail = inJail;
+        setJailTurns(jailTurns);
+    }
+
     public void freeFromJail() {
         inJail = false;
-        jailTurns = 0;
+        setJailTurns(0);
     }
 
     public void buyProperty(Tile tile) {
         ownedProperties.add(tile);
     }
 
-    public List<Tile> getOwnedProperties() {
+    public ObservableList<Tile> getOwnedProperties() {
         return ownedProperties;
     }
 
@@ -83,10 +136,18 @@ public class Player {
         return position;
     }
 
-    public Sphere getFigure() {
+    public MeshView getFigure() {
+        if (figure == null) {
+            figure = FigureMesh.create(color);
+            figure.setTranslateY(-BoardUtils.TILE_HEIGHT - 3);
+        }
         return figure;
     }
 
+    public Color getColor() {
+        return color;
+    }
+
     public int getId() {
         return id;
     }
@@ -95,15 +156,41 @@ public class Player {
         return money;
     }
 
+    public ReadOnlyIntegerProperty moneyProperty() {
+        if (moneyProperty == null) {
+            moneyProperty = new ReadOnlyIntegerWrapper(this, "money", money);
+        }
+        return moneyProperty.getReadOnlyProperty();
+    }
+
     public void addMoney(int amount) {
-        money += amount;
+        setMoney(money + amount);
     }
 
     public void subtractMoney(int amount) {
-        money -= amount;
+        setMoney(money - amount);
         if (money < 0) setBankrupt();
     }
 
+    private void setPosition(int value) {
+        if (hash != null) hash.position(id, position, value);
+        if (state != null) state.markPlayer(id);
+        position = value;
+    }
+
+    private void setJailTurns(int value) {
+        if (hash != null) hash.jail(id, jailTurns, value);
+        if (state != null) state.markPlayer(id);
+        jailTurns = value;
+    }
+
+    private void setMoney(int value) {
+        if (hash != null) hash.money(id, money, value);
+        if (state != null) state.markPlayer(id);
+        money = value;
+        if (moneyProperty != null) moneyProperty.set(value);
+    }
+
     public String getName() {
         return name;
     }
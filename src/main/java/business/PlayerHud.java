@@ -0,0 +1,132 @@
+package business;
+
+import javafx.beans.Observable;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.StackPane;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Panel hráčů a rohové labely. Panel je ListView – kreslí jen viditelné řádky,
+ * takže i stovky hráčů znamenají pár buněk. Položky mají extractor (peníze, bankrot,
+ * nemovitosti, úrovně domů), takže se při změně přepíše jen řádek toho hráče,
+ * a to jen když je vidět. Vzhled je v hud.css, bankrot je pseudo-třída.
+ */
+public class PlayerHud {
+
+    private static final PseudoClass BANKRUPT = PseudoClass.getPseudoClass("bankrupt");
+    private static final Pos[] CORNERS = {Pos.TOP_LEFT, Pos.TOP_RIGHT, Pos.BOTTOM_LEFT, Pos.BOTTOM_RIGHT};
+
+    private final ListView<Player> playerList;
+    private final List<Label> cornerLabels = new ArrayList<>();
+
+    public PlayerHud(List<Player> players) {
+        // úrovně domů nejsou vlastnost hráče – změnu hlásí počítadlo revizí v extractoru
+        IntegerProperty[] revisions = new IntegerProperty[players.size()];
+        for (int i = 0; i < revisions.length; i++) {
+            revisions[i] = new SimpleIntegerProperty();
+        }
+        ObservableList<Player> items = FXCollections.observableArrayList(p -> new Observable[]{
+                p.moneyProperty(), p.bankruptProperty(), p.getOwnedProperties(), revisions[p.getId()]});
+        items.setAll(players);
+
+        playerList = new ListView<>(items);
+        playerList.getStyleClass().add("player-list");
+        playerList.setCellFactory(list -> new PlayerCell());
+        playerList.setFocusTraversable(false);
+
+        for (Player p : players) {
+            watchLevels(p, revisions[p.getId()]);
+        }
+
+        // rohové labely jen pro klasickou hru do 4 hráčů, při víc hráčích stačí seznam
+        if (players.size() <= CORNERS.length) {
+            for (int i = 0; i < players.size(); i++) {
+                Label corner = new Label();
+                corner.getStyleClass().add("corner-label");
+                StackPane.setAlignment(corner, CORNERS[i]);
+                cornerLabels.add(corner);
+                bindCorner(players.get(i), corner);
+            }
+        }
+    }
+
+    public ListView<Player> getPlayerList() {
+        return playerList;
+    }
+
+    public List<Label> getCornerLabels() {
+        return cornerLabels;
+    }
+
+    /**
+     * Označí hráče na tahu a posune seznam, aby byl vidět.
+     */
+    public void setCurrentPlayer(int index) {
+        playerList.getSelectionModel().select(index);
+        playerList.scrollTo(Math.max(0, index - 2));
+    }
+
+    private static void watchLevels(Player p, IntegerProperty revision) {
+        ChangeListener<Number> levelChanged = (obs, oldLevel, newLevel) -> revision.set(revision.get() + 1);
+        p.getOwnedProperties().addListener((ListChangeListener<Tile>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(t -> t.levelProperty().removeListener(levelChanged));
+                change.getAddedSubList().forEach(t -> t.levelProperty().addListener(levelChanged));
+            }
+        });
+        p.getOwnedProperties().forEach(t -> t.levelProperty().addListener(levelChanged));
+    }
+
+    private static void bindCorner(Player p, Label corner) {
+        ChangeListener<Object> refresh = (obs, oldValue, newValue) -> refreshCorner(p, corner);
+        p.moneyProperty().addListener(refresh);
+        p.bankruptProperty().addListener(refresh);
+        refreshCorner(p, corner);
+    }
+
+    private static void refreshCorner(Player p, Label corner) {
+        corner.setText(p.getName() + "\n" + (p.isBankrupt() ? "BANKROT" : (p.getMoney() + " Kč")));
+        corner.pseudoClassStateChanged(BANKRUPT, p.isBankrupt());
+    }
+
+    // Řádek seznamu – znovupoužívá se pro různé hráče podle posunu seznamu
+    private static final class PlayerCell extends ListCell<Player> {
+        PlayerCell() {
+            getStyleClass().add("player-row");
+        }
+
+        @Override
+        protected void updateItem(Player p, boolean empty) {
+            super.updateItem(p, empty);
+            if (empty || p == null) {
+                setText(null);
+                pseudoClassStateChanged(BANKRUPT, false);
+                return;
+            }
+            StringBuilder sb = new StringBuilder(p.getName());
+            sb.append(p.isBankrupt() ? " ❌" : "").append(" — ").append(p.getMoney()).append(" Kč");
+
+            if (!p.getOwnedProperties().isEmpty()) {
+                sb.append("\n  → ");
+                for (Tile t : p.getOwnedProperties()) {
+                    sb.append(t.getName()).append("(L").append(t.getLevel()).append("), ");
+                }
+                sb.setLength(sb.length() - 2);
+            }
+            setText(sb.toString());
+            pseudoClassStateChanged(BANKRUPT, p.isBankrupt());
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package business;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pravidla hry načtená ze souboru (formát viz classic.rules): vzor desky, efekty polí
+ * a balíček karet. Při načtení se zkontrolují a přeloží do plochých tabulek indexovaných
+ * TileType.ordinal() – efekt pole je pak jen čtení z pole, stejně rychlé jako ručně psaný switch.
+ *
+ * Výchozí jsou klasická pravidla z resource classic.rules. Vlastní soubor se zadá přes
+ * -Dbusiness.rules=&lt;soubor&gt;; při jeho změně se načte znovu a platí od další hry
+ * (rozehraná hra si drží svoje pravidla). Neplatný soubor se odmítne a zůstanou předchozí pravidla.
+ *
+ * Identitou pravidel je zdroj a hash přeložených tabulek (getHash). Žurnál i snapshot je ukládají
+ * do hlavičky a při přehrání / obnově se přes find použijí stejná pravidla, ne current().
+ */
+public final class RuleSet {
+
+    /**
+     * Co pole udělá s hráčem, který na něj vstoupí (nemovitosti řeší nabídka, ne efekt).
+     */
+    public enum TileEffect {
+        NONE,
+        PAY,   // zaplatí částku (událost TAX)
+        GAIN,  // získá částku (událost START_BONUS)
+        JAIL,  // jde do vězení
+        CARD   // táhne kartu
+    }
+
+    private static final TileType[] TYPES = TileType.values();
+    static final String CLASSIC_SOURCE = "classic.rules";
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    // všechna kdy přeložená pravidla podle identity – staré hry se přehrají i po změně souboru
+    private static final Map<Identity, RuleSet> known = new ConcurrentHashMap<>();
+
+    private static volatile RuleSet current;
+    private static RuleSet classic;
+
+    private final String source;
+    // vzor desky
+    private final TileType[] tileType;
+    private final String[] tileName;
+    private final int[] price;
+    private final int[] rent;
+    private final int[] group;
+    private final int groups;
+    // efekty podle TileType.ordinal()
+    private final TileEffect[] effect;
+    private final int[] amount;
+    private final List<ChanceCard> cards;
+    private final long hash;
+
+    private RuleSet(String source, List<TileDef> tiles, TileEffect[] effect, int[] amount, List<ChanceCard> cards) {
+        this.source = source;
+        int n = tiles.size();
+        tileType = new TileType[n];
+        tileName = new String[n];
+        price = new int[n];
+        rent = new int[n];
+        group = new int[n];
+        int maxGroup = -1;
+        for (int i = 0; i < n; i++) {
+            TileDef t = tiles.get(i);
+            tileType[i] = t.type();
+            tileName[i] = t.name();
+            price[i] = t.price();
+            rent[i] = t.rent();
+            group[i] = t.group();
+            maxGroup = Math.max(maxGroup, t.group());
+        }
+        this.groups = maxGroup + 1;
+        this.effect = effect;
+        this.amount = amount;
+        this.cards = List.copyOf(cards);
+        this.hash = computeHash();
+    }
+
+    // FNV-1a nad přeloženými tabulkami – stejný obsah dá stejný hash bez ohledu na komentáře a zdroj
+    private long computeHash() {
+        long h = FNV_OFFSET;
+        h = mix(h, tileType.length);
+        for (int i = 0; i < tileType.length; i++) {
+            h = mix(mix(mix(mix(mix(h, tileType[i].ordinal()), tileName[i]), price[i]), rent[i]), group[i]);
+        }
+        for (int t = 0; t < TYPES.length; t++) {
+            h = mix(mix(h, effect[t].ordinal()), amount[t]);
+        }
+        h = mix(h, cards.size());
+        for (ChanceCard c : cards) {
+            h = mix(mix(mix(mix(h, c.getEffect().ordinal()), c.getAmount()), c.getTarget()), c.getMessage());
+        }
+        return h;
+    }
+
+    private static long mix(long h, int value) {
+        return (h ^ (value & 0xFFFFFFFFL)) * FNV_PRIME;
+    }
+
+    private static long mix(long h, String text) {
+        h = mix(h, text.length());
+        for (int i = 0; i < text.length(); i++) {
+            h = mix(h, text.charAt(i));
+        }
+        return h;
+    }
+
+    private record TileDef(TileType type, String name, int price, int rent, int group) {
+    }
+
+    private record Identity(String source, long hash) {
+    }
+
+    /**
+     * Pravidla pro nové hry: vlastní soubor (-Dbusiness.rules), jinak klasická.
+     */
+    public static RuleSet current() {
+        RuleSet rules = current;
+        if (rules == null) {
+            synchronized (RuleSet.class) {
+                if (current == null) {
+                    current = loadConfigured();
+                }
+                rules = current;
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Klasická pravidla (resource classic.rules).
+     */
+    public static synchronized RuleSet classic() {
+        if (classic == null) {
+            try (InputStream in = RuleSet.class.getResourceAsStream("classic.rules")) {
+                if (in == null) {
+                    throw new IllegalStateException("Chybí resource classic.rules");
+                }
+                String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                classic = parse(text.lines().toList(), CLASSIC_SOURCE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Nelze načíst classic.rules", e);
+            }
+        }
+        return classic;
+    }
+
+    public static RuleSet load(Path file) {
+        try {
+            return parse(Files.readAllLines(file, StandardCharsets.UTF_8), file.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze načíst pravidla " + file, e);
+        }
+    }
+
+    /**
+     * Pravidla, se kterými byla hra uložena (žurnál, snapshot): už načtená se stejným zdrojem
+     * a hashem, jinak znovu načtený zdroj, pokud má pořád stejný obsah, jinak stejný obsah
+     * z jiného zdroje. Jinak IllegalStateException – s jinými pravidly by se hra přehrála jinak.
+     */
+    public static RuleSet find(String source, long hash) {
+        Identity identity = new Identity(source, hash);
+        RuleSet rules = known.get(identity);
+        if (rules == null) {
+            try {
+                if (source.equals(CLASSIC_SOURCE)) {
+                    classic();
+                } else if (Files.isRegularFile(Path.of(source))) {
+                    load(Path.of(source));
+                }
+            } catch (IllegalArgumentException | UncheckedIOException e) {
+                // zdroj už neplatí – rozhodne registr níže
+            }
+            rules = known.get(identity);
+        }
+        if (rules == null) {
+            rules = known.values().stream().filter(r -> r.hash == hash).findFirst().orElse(null);
+        }
+        if (rules == null) {
+            throw new IllegalStateException(String.format(
+                    "Hra byla uložena s pravidly %s (hash %016x), ta už nejsou k dispozici – zdroj se mezitím změnil",
+                    source, hash));
+        }
+        return rules;
+    }
+
+    private static RuleSet loadConfigured() {
+        String file = System.getProperty("business.rules");
+        if (file == null) {
+            return classic();
+        }
+        Path path = Path.of(file).toAbsolutePath();
+        RuleSet rules = load(path);
+        watch(path);
+        return rules;
+    }
+
+    /**
+     * Sleduje soubor pravidel (WatchService na jeho adresáři) a po každé platné změně
+     * vymění current(). Chyby v souboru jen vypíše – hra dál jede s předchozími pravidly.
+     */
+    static void watch(Path file) {
+        WatchService watcher;
+        try {
+            watcher = file.getFileSystem().newWatchService();
+            file.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze sledovat pravidla " + file, e);
+        }
+        Thread.ofVirtual().name("rules-watch").start(() -> {
+            try (watcher) {
+                while (true) {
+                    WatchKey key = watcher.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        changed |= file.getFileName().equals(event.context());
+                    }
+                    key.reset();
+                    if (changed) {
+                        Thread.sleep(50); // editory zapisují na několikrát – další události téhož uložení zahodí
+                        for (WatchKey more = watcher.poll(); more != null; more = watcher.poll()) {
+                            more.pollEvents();
+                            more.reset();
+                        }
+                        reload(file);
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // sledování ukončeno
+            } catch (IOException e) {
+                System.err.println("Sledování pravidel skončilo: " + e.getMessage());
+            }
+        });
+    }
+
+    private static void reload(Path file) {
+        try {
+            current = load(file);
+            System.err.println("Pravidla " + file + " načtena znovu, platí od další hry.");
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            System.err.println("Pravidla " + file + " nejsou platná, zůstávají předchozí:\n" + e.getMessage());
+        }
+    }
+
+    /**
+     * Přeloží řádky souboru pravidel. Všechny chyby (i s čísly řádků) hlásí najednou
+     * jako IllegalArgumentException.
+     */
+    public static RuleSet parse(List<String> lines, String source) {
+        List<String> errors = new ArrayList<>();
+        List<TileDef> tiles = new ArrayList<>();
+        TileEffect[] effect = new TileEffect[TYPES.length];
+        Arrays.fill(effect, TileEffect.NONE);
+        int[] amount = new int[TYPES.length];
+        boolean[] effectSet = new boolean[TYPES.length];
+        List<ChanceCard> cards = new ArrayList<>();
+        List<Integer> cardLines = new ArrayList<>();
+
+        for (int ln = 1; ln <= lines.size(); ln++) {
+            String line = lines.get(ln - 1);
+            int hash = line.indexOf('#');
+            if (hash >= 0) line = line.substring(0, hash);
+            if (line.isBlank()) continue;
+            String[] f = line.split("\\|", -1);
+            for (int i = 0; i < f.length; i++) {
+                f[i] = f[i].strip();
+            }
+            String at = source + ":" + ln + ": ";
+            try {
+                switch (f[0]) {
+                    case "tile" -> {
+                        TileType type = TileType.valueOf(field(f, 1, at));
+                        String name = field(f, 2, at);
+                        if (type == TileType.NEMOVITOST) {
+                            expect(f, 6, at);
+                            int p = number(f[3], at);
+                            int r = number(f[4], at);
+                            int g = number(f[5], at);
+                            if (p <= 0 || r < 0 || g < 0) {
+                                errors.add(at + "nemovitost potřebuje kladnou cenu, nájem >= 0 a skupinu >= 0");
+                            }
+                            tiles.add(new TileDef(type, name, p, r, g));
+                        } else {
+                            expect(f, 3, at);
+                            tiles.add(new TileDef(type, name, 0, 0, -1));
+                        }
+                    }
+                    case "effect" -> {
+                        TileType type = TileType.valueOf(field(f, 1, at));
+                        TileEffect e = TileEffect.valueOf(field(f, 2, at));
+                        boolean paid = e == TileEffect.PAY || e == TileEffect.GAIN;
+                        expect(f, paid ? 4 : 3, at);
+                        if (type == TileType.NEMOVITOST || e == TileEffect.NONE) {
+                            errors.add(at + "nemovitost nemá efekt a NONE se nezadává");
+                        } else if (effectSet[type.ordinal()]) {
+                            errors.add(at + "efekt pole " + type + " už je zadaný");
+                        }
+                        effectSet[type.ordinal()] = true;
+                        effect[type.ordinal()] = e;
+                        if (paid) {
+                            amount[type.ordinal()] = number(f[3], at);
+                            if (amount[type.ordinal()] < 0) errors.add(at + "částka nesmí být záporná");
+                        }
+                    }
+                    case "card" -> {
+                        expect(f, 5, at);
+                        ChanceCard.Effect e = ChanceCard.Effect.valueOf(f[1]);
+                        int a = number(f[2], at);
+                        int target = number(f[3], at);
+                        if (a < 0 || target < 0) errors.add(at + "částka i cíl karty musí být >= 0");
+                        cards.add(new ChanceCard(field(f, 4, at), e, a, target));
+                        cardLines.add(ln);
+                    }
+                    default -> errors.add(at + "neznámý záznam '" + f[0] + "' (tile, effect, card)");
+                }
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage().startsWith(at) ? e.getMessage() : at + e.getMessage());
+            }
+        }
+
+        validate(source, tiles, effect, cards, cardLines, errors);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("\n", errors));
+        }
+        RuleSet rules = new RuleSet(source, tiles, effect, amount, cards);
+        known.putIfAbsent(new Identity(source, rules.hash), rules);
+        return rules;
+    }
+
+    // Kontroly celé sady: tvar desky, skupiny, karty
+    private static void validate(String source, List<TileDef> tiles, TileEffect[] effect, List<ChanceCard> cards,
+                                 List<Integer> cardLines, List<String> errors) {
+        int n = tiles.size();
+        if (n < BoardUtils.MIN_BOARD_SIZE || n % 4 != 0) {
+            errors.add(source + ": deska musí mít násobek 4 polí, aspoň " + BoardUtils.MIN_BOARD_SIZE + " (má " + n + ")");
+            return;
+        }
+        if (tiles.get(0).type() != TileType.START) {
+            errors.add(source + ": první pole musí být START");
+        }
+        if (tiles.get(BoardUtils.jailTile(n)).type() != TileType.VEZENI) {
+            errors.add(source + ": pole " + BoardUtils.jailTile(n) + " (první roh po STARTu) musí být VEZENI");
+        }
+        int maxGroup = -1;
+        for (TileDef t : tiles) {
+            maxGroup = Math.max(maxGroup, t.group());
+        }
+        boolean[] used = new boolean[maxGroup + 1];
+        boolean cardTiles = false;
+        for (TileDef t : tiles) {
+            if (t.group() >= 0) used[t.group()] = true;
+            cardTiles |= effect[t.type().ordinal()] == TileEffect.CARD;
+        }
+        for (int g = 0; g < used.length; g++) {
+            if (!used[g]) errors.add(source + ": skupina " + g + " nemá žádné pole (čísla skupin musí jít po sobě)");
+        }
+        if (cardTiles && cards.isEmpty()) {
+            errors.add(source + ": deska má pole s kartou, ale balíček je prázdný");
+        }
+        for (int i = 0; i < cards.size(); i++) {
+            ChanceCard c = cards.get(i);
+            if (c.getEffect() == ChanceCard.Effect.MOVE_TO && c.getTarget() >= n) {
+                errors.add(source + ":" + cardLines.get(i) + ": cíl karty " + c.getTarget() + " je mimo desku");
+            }
+        }
+    }
+
+    private static String field(String[] f, int index, String at) {
+        if (index >= f.length || f[index].isEmpty()) {
+            throw new IllegalArgumentException(at + "chybí sloupec " + (index + 1));
+        }
+        return f[index];
+    }
+
+    private static void expect(String[] f, int count, String at) {
+        if (f.length != count) {
+            throw new IllegalArgumentException(at + "čekáno " + count + " sloupců, je jich " + f.length);
+        }
+    }
+
+    private static int number(String text, String at) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(at + "'" + text + "' není číslo");
+        }
+    }
+
+    /**
+     * Odkud pravidla jsou (soubor nebo classic.rules).
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Hash přeložených pravidel – spolu se zdrojem identita pravidel v uložených hrách.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Počet polí vzoru desky – výchozí velikost desky.
+     */
+    public int getBoardSize() {
+        return tileType.length;
+    }
+
+    public int getGroupCount() {
+        return groups;
+    }
+
+    public TileEffect getEffect(TileType type) {
+        return effect[type.ordinal()];
+    }
+
+    /**
+     * Částka efektu PAY / GAIN daného druhu pole (jinak 0).
+     */
+    public int getAmount(TileType type) {
+        return amount[type.ordinal()];
+    }
+
+    public List<ChanceCard> getCards() {
+        return cards;
+    }
+
+    /**
+     * Deska o boardSize polích (násobek 4, aspoň MIN_BOARD_SIZE). Rohy jsou rohy vzoru, strany
+     * opakují strany vzoru, opakované ulice dostanou pořadové číslo a vlastní barevnou skupinu.
+     * Pro velikost vzoru je výsledek přesně vzor.
+     */
+    public List<Tile> generateTiles(int boardSize) {
+        if (boardSize < BoardUtils.MIN_BOARD_SIZE || boardSize % 4 != 0) {
+            throw new IllegalArgumentException("Deska musí mít násobek 4 polí, aspoň " + BoardUtils.MIN_BOARD_SIZE + ": " + boardSize);
+        }
+        int side = BoardUtils.sideLength(boardSize);
+        int templateSide = BoardUtils.sideLength(getBoardSize());
+        Map<Integer, Integer> groupIds = new HashMap<>(); // (opakování, skupina vzoru) -> skupina desky
+        List<Tile> tiles = new ArrayList<>(boardSize);
+        for (int i = 0; i < boardSize; i++) {
+            // pole vzoru, které se na tomto místě opakuje
+            int k = i % side;
+            int repeat = k == 0 ? 0 : (k - 1) / (templateSide - 1);
+            int t = (i / side) * templateSide + (k == 0 ? 0 : 1 + (k - 1) % (templateSide - 1));
+
+            String name = tileName[t];
+            int tileGroup = -1;
+            if (tileType[t] == TileType.NEMOVITOST) {
+                tileGroup = groupIds.computeIfAbsent(repeat * groups + group[t], key -> groupIds.size());
+                if (repeat > 0) name = name + " " + (repeat + 1);
+            }
+            tiles.add(new Tile(i, tileType[t], name, price[t], rent[t], tileGroup));
+        }
+        return tiles;
+    }
+}
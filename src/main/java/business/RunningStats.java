@@ -0,0 +1,74 @@
+package business;
+
+/**
+ * Průběžný průměr a rozptyl (Welfordův algoritmus) bez ukládání hodnot.
+ * Dílčí výsledky z více vláken se slučují přes merge (Chanův vzorec).
+ */
+public final class RunningStats {
+
+    private long count = 0;
+    private double mean = 0;
+    private double m2 = 0; // součet čtverců odchylek od průměru
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(RunningStats other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /** Výběrový rozptyl (n - 1). */
+    public double getVariance() {
+        return count < 2 ? 0 : m2 / (count - 1);
+    }
+
+    public double getStdDev() {
+        return Math.sqrt(getVariance());
+    }
+
+    /** Směrodatná chyba průměru – pro porovnání strategií. */
+    public double getStdError() {
+        return count == 0 ? 0 : Math.sqrt(getVariance() / count);
+    }
+
+    public double getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? 0 : max;
+    }
+}
@@ -0,0 +1,70 @@
+package business;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Zátěžový test serveru přes loopback: N klientů (každý na virtuálním vlákně) hraje
+ * každý u svého stolu. Na konci se zrcadlo klienta porovná se stavem serveru
+ * (bajty snapshotu), aby bylo vidět, že delty stačí.
+ *
+ * Spuštění: [počet stolů] [max tahů]
+ */
+public class ServerLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int tables = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int maxTurns = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        List<String> names = List.of("Hráč 1", "Hráč 2", "Hráč 3", "Hráč 4");
+
+        AtomicLong turns = new AtomicLong();
+        AtomicInteger mismatches = new AtomicInteger();
+        List<GameClient> clients = new ArrayList<>(tables);
+
+        try (GameServer server = new GameServer(0)) {
+            long start = System.nanoTime();
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int t = 0; t < tables; t++) {
+                    String id = "stůl-" + t;
+                    long seed = t;
+                    executor.submit(() -> {
+                        GameClient client = GameClient.connect(server.getPort(), Runnable::run);
+                        synchronized (clients) {
+                            clients.add(client);
+                        }
+                        GameState mirror = client.join(id, names, seed);
+                        for (int i = 0; i < maxTurns && mirror.getActivePlayerCount() > 1; i++) {
+                            client.playTurn(GameServer.FLAG_BUY | GameServer.FLAG_UPGRADE).join();
+                        }
+                        turns.addAndGet(server.getTable(id).getTurn());
+                        if (!Arrays.equals(bytes(mirror), bytes(server.getTable(id).getState()))) {
+                            mismatches.incrementAndGet();
+                        }
+                        return null;
+                    });
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Runtime rt = Runtime.getRuntime();
+            System.gc();
+            long heap = rt.totalMemory() - rt.freeMemory();
+            System.out.printf("%d stolů, %d tahů za %.2f s (%.0f tahů/s)%n", tables, turns.get(), seconds, turns.get() / seconds);
+            System.out.printf("Otevřené stoly: %d, heap %.1f MiB (%.1f KiB na stůl)%n", server.getTableCount(),
+                    heap / 1048576.0, heap / 1024.0 / tables);
+            System.out.println("Rozdíly zrcadlo/server: " + mismatches.get());
+            clients.forEach(GameClient::close);
+        }
+    }
+
+    private static byte[] bytes(GameState state) {
+        byte[] snapshot = new byte[GameSnapshot.sizeOf(state)];
+        GameSnapshot.write(state, ByteBuffer.wrap(snapshot));
+        return snapshot;
+    }
+}
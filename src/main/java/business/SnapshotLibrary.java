@@ -0,0 +1,108 @@
+package business;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Knihovna uložených pozic – snapshoty (GameSnapshot) uložené za sebou v jednom souboru.
+ * Zápis přidává na konec (checkpoint každý tah), čtení namapuje celý soubor
+ * a vrací SnapshotView na jednotlivé pozice bez kopírování.
+ */
+public class SnapshotLibrary implements AutoCloseable {
+
+    private final FileChannel channel;
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+
+    private SnapshotLibrary(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static SnapshotLibrary append(Path file) {
+        try {
+            return new SnapshotLibrary(FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze otevřít knihovnu pozic " + file, e);
+        }
+    }
+
+    /**
+     * Přidá aktuální stav hry na konec souboru. Buffer se znovu používá, takže checkpoint nealokuje.
+     */
+    public void add(GameState state) {
+        int size = GameSnapshot.sizeOf(state);
+        if (scratch.capacity() < size) {
+            scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+        }
+        scratch.clear();
+        GameSnapshot.write(state, scratch);
+        scratch.flip();
+        try {
+            while (scratch.hasRemaining()) {
+                channel.write(scratch);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze zapsat pozici", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze uzavřít knihovnu pozic", e);
+        }
+    }
+
+    /**
+     * Namapuje celou knihovnu a vrátí pohledy na všechny pozice v pořadí uložení.
+     * Nedopsaná poslední pozice (pád během zápisu) se vynechá, poškozený záznam uprostřed
+     * souboru skončí výjimkou – délka záznamu se nikdy nepoužije bez kontroly.
+     */
+    public static List<SnapshotView> read(Path file) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze načíst knihovnu pozic " + file, e);
+        }
+        List<SnapshotView> views = new ArrayList<>();
+        int pos = 0;
+        int capacity = buffer.capacity();
+        while (pos < capacity) {
+            if (capacity - pos < GameSnapshot.V1_HEADER_SIZE) {
+                break; // nedopsaná hlavička
+            }
+            SnapshotView view;
+            try {
+                view = new SnapshotView(buffer, pos);
+            } catch (IllegalArgumentException e) {
+                throw corrupt(file, pos, "chybí hlavička snapshotu");
+            }
+            long fixed = view.headerSize() + (long) view.getPlayerCount() * GameSnapshot.PLAYER_SIZE
+                    + (long) view.getTileCount() * GameSnapshot.TILE_SIZE;
+            int size = view.size();
+            if (view.getPlayerCount() < 0 || view.getTileCount() < 0 || size < fixed) {
+                throw corrupt(file, pos, "neplatná délka " + size);
+            }
+            if (size > capacity - pos) {
+                break; // nedopsaný záznam
+            }
+            views.add(view);
+            pos += size;
+        }
+        return views;
+    }
+
+    private static IllegalStateException corrupt(Path file, int pos, String reason) {
+        return new IllegalStateException("Knihovna pozic " + file + " je poškozená na bajtu " + pos + ": " + reason);
+    }
+}
@@ -0,0 +1,150 @@
+package business;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Pohled na jeden snapshot (GameSnapshot) v bufferu – gettery čtou přímo z bajtů
+ * na pevných offsetech, bez mezivrstvy objektů. Vhodné pro procházení velkých knihoven pozic.
+ * Čte i snapshoty verze 1 (bez pravidel v hlavičce, tedy klasická pravidla).
+ */
+public class SnapshotView {
+
+    private final ByteBuffer buf;
+    private final int base;
+    private final int players;
+    private final int tiles;
+    private final int version;
+
+    SnapshotView(ByteBuffer buffer, int base) {
+        this.buf = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.base = base;
+        this.version = buf.getInt(base + 4);
+        if (buf.getInt(base) != GameSnapshot.MAGIC || version < 1 || version > GameSnapshot.VERSION) {
+            throw new IllegalArgumentException("Na pozici " + base + " není snapshot hry");
+        }
+        this.players = buf.getInt(base + GameSnapshot.PLAYERS_OFFSET);
+        this.tiles = buf.getInt(base + GameSnapshot.TILES_OFFSET);
+    }
+
+    public int size() {
+        return buf.getInt(base + GameSnapshot.SIZE_OFFSET);
+    }
+
+    public int getPlayerCount() {
+        return players;
+    }
+
+    public int getTileCount() {
+        return tiles;
+    }
+
+    public int getCurrentPlayer() {
+        return buf.getInt(base + GameSnapshot.CURRENT_OFFSET);
+    }
+
+    public int getPosition(int player) {
+        return buf.getInt(playerAt(player));
+    }
+
+    public int getMoney(int player) {
+        return buf.getInt(playerAt(player) + 4);
+    }
+
+    public boolean isBankrupt(int player) {
+        return (buf.get(playerAt(player) + 8) & GameSnapshot.FLAG_BANKRUPT) != 0;
+    }
+
+    public boolean isInJail(int player) {
+        return (buf.get(playerAt(player) + 8) & GameSnapshot.FLAG_JAIL) != 0;
+    }
+
+    public int getJailTurns(int player) {
+        return buf.get(playerAt(player) + 9);
+    }
+
+    public int getOwner(int tile) {
+        return buf.getShort(tileAt(tile));
+    }
+
+    public int getLevel(int tile) {
+        return buf.get(tileAt(tile) + 2);
+    }
+
+    public List<String> getPlayerNames() {
+        List<String> names = new ArrayList<>(players);
+        int pos = base + buf.getInt(base + GameSnapshot.NAMES_OFFSET);
+        for (int i = 0; i < players; i++) {
+            byte[] bytes = new byte[buf.getShort(pos)];
+            buf.get(pos + 2, bytes);
+            names.add(new String(bytes, StandardCharsets.UTF_8));
+            pos += 2 + bytes.length;
+        }
+        return names;
+    }
+
+    public long getRulesHash() {
+        return version == 1 ? RuleSet.classic().getHash() : buf.getLong(base + GameSnapshot.RULES_OFFSET);
+    }
+
+    /**
+     * Zdroj pravidel hry (soubor nebo classic.rules) – uložený za jmény hráčů.
+     */
+    public String getRulesSource() {
+        if (version == 1) {
+            return RuleSet.classic().getSource();
+        }
+        int pos = base + buf.getInt(base + GameSnapshot.NAMES_OFFSET);
+        for (int i = 0; i < players; i++) {
+            pos += 2 + buf.getShort(pos);
+        }
+        byte[] bytes = new byte[buf.getShort(pos)];
+        buf.get(pos + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Délka hlavičky podle verze snapshotu.
+     */
+    int headerSize() {
+        return version == 1 ? GameSnapshot.V1_HEADER_SIZE : GameSnapshot.HEADER_SIZE;
+    }
+
+    /**
+     * Postaví z pohledu plnohodnotný GameState (s novým generátorem) se stejnými pravidly,
+     * se kterými byl snapshot uložen (RuleSet.find); nejsou-li k dispozici, IllegalStateException.
+     */
+    public GameState toGameState() {
+        RuleSet rules = RuleSet.find(getRulesSource(), getRulesHash());
+        GameState state = new GameState(getPlayerNames(), new SplittableRandom(), tiles, rules);
+        for (int i = 0; i < players; i++) {
+            state.getPlayers().get(i).restore(getPosition(i), getMoney(i), isBankrupt(i), isInJail(i), getJailTurns(i));
+        }
+        for (int t = 0; t < tiles; t++) {
+            Tile tile = state.getTileAt(t);
+            int owner = getOwner(t);
+            if (owner >= 0) {
+                Player p = state.getPlayers().get(owner);
+                tile.setOwner(p);
+                if (!p.isBankrupt()) {
+                    p.buyProperty(tile);
+                }
+            }
+            tile.restoreLevel(getLevel(t));
+        }
+        state.setCurrentPlayerIndex(getCurrentPlayer());
+        return state;
+    }
+
+    private int playerAt(int player) {
+        return base + headerSize() + player * GameSnapshot.PLAYER_SIZE;
+    }
+
+    private int tileAt(int tile) {
+        return base + headerSize() + players * GameSnapshot.PLAYER_SIZE + tile * GameSnapshot.TILE_SIZE;
+    }
+}
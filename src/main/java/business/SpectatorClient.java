@@ -0,0 +1,249 @@
+package business;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Divák přenosu SpectatorFeed: drží zrcadlo hry, které staví ze snapshotu a dál mění jen
+ * podle delt. Každá delta nese hash stavu (StateHash), takže rozjetí zrcadla je hned vidět.
+ */
+public class SpectatorClient implements AutoCloseable {
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private GameState state;
+    private volatile int frame = -1;
+    private long bytes;
+    private int snapshots;
+    private int hashMismatches;
+
+    private SpectatorClient(Socket socket) throws IOException {
+        this.socket = socket;
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 4096));
+    }
+
+    public static SpectatorClient connect(int port) {
+        return connect(port, 0);
+    }
+
+    // receiveBuffer > 0 omezí buffer jádra (pomalý divák v zátěžovém testu)
+    private static SpectatorClient connect(int port, int receiveBuffer) {
+        try {
+            Socket socket = new Socket();
+            if (receiveBuffer > 0) {
+                socket.setReceiveBufferSize(receiveBuffer);
+            }
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            return new SpectatorClient(socket);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze se připojit k přenosu na portu " + port, e);
+        }
+    }
+
+    /**
+     * Přečte a aplikuje jednu zprávu (blokuje). Vrací false, když přenos skončil.
+     */
+    public boolean readNext() throws IOException {
+        byte kind;
+        byte[] body;
+        try {
+            kind = in.readByte();
+            body = new byte[in.readInt()];
+            in.readFully(body);
+        } catch (EOFException e) {
+            return false;
+        }
+        bytes += SpectatorFeed.HEADER + body.length;
+        ByteBuffer buf = ByteBuffer.wrap(body);
+        int number = buf.getInt();
+        switch (kind) {
+            case SpectatorFeed.SNAPSHOT -> {
+                state = new SnapshotView(buf, buf.position()).toGameState();
+                snapshots++;
+            }
+            case SpectatorFeed.DELTA -> {
+                if (state == null) {
+                    throw new IOException("Delta před prvním snapshotem");
+                }
+                applyDelta(buf);
+            }
+            default -> throw new IOException("Neznámá zpráva přenosu " + kind);
+        }
+        frame = number;
+        return true;
+    }
+
+    private void applyDelta(ByteBuffer buf) {
+        long hash = buf.getLong();
+        int current = SpectatorFeed.getVarInt(buf);
+        int players = SpectatorFeed.getVarInt(buf);
+        for (int i = 0; i < players; i++) {
+            Player p = state.getPlayers().get(SpectatorFeed.getVarInt(buf));
+            int mask = buf.get();
+            int position = (mask & SpectatorFeed.MOVED) != 0 ? SpectatorFeed.getVarInt(buf) : p.getPosition();
+            int money = p.getMoney();
+            if ((mask & SpectatorFeed.MONEY) != 0) {
+                money += SpectatorFeed.unzigzag(SpectatorFeed.getVarInt(buf));
+            }
+            boolean bankrupt = p.isBankrupt();
+            boolean inJail = p.isInJail();
+            int jailTurns = p.getJailTurns();
+            if ((mask & SpectatorFeed.STATUS) != 0) {
+                int flags = buf.get();
+                bankrupt = (flags & GameSnapshot.FLAG_BANKRUPT) != 0;
+                inJail = (flags & GameSnapshot.FLAG_JAIL) != 0;
+                jailTurns = buf.get();
+            }
+            p.restore(position, money, bankrupt, inJail, jailTurns);
+        }
+        int tiles = SpectatorFeed.getVarInt(buf);
+        for (int i = 0; i < tiles; i++) {
+            Tile tile = state.getTiles().get(SpectatorFeed.getVarInt(buf));
+            int ownerId = SpectatorFeed.getVarInt(buf) - 1;
+            Player previous = tile.getOwner();
+            Player owner = ownerId < 0 ? null : state.getPlayers().get(ownerId);
+            if (previous != owner) {
+                if (previous != null) previous.getOwnedProperties().remove(tile);
+                if (owner != null) owner.getOwnedProperties().add(tile);
+            }
+            tile.setOwner(owner);
+            tile.restoreLevel(buf.get());
+        }
+        state.setCurrentPlayerIndex(current);
+        if (state.getHash().get() != hash) {
+            hashMismatches++;
+        }
+    }
+
+    /**
+     * Zrcadlo hry (null do prvního snapshotu). Mění ho jen vlákno, které volá readNext.
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * Číslo posledního aplikovaného snímku.
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public int getSnapshots() {
+        return snapshots;
+    }
+
+    public int getHashMismatches() {
+        return hashMismatches;
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // už zavřeno
+        }
+    }
+
+    /**
+     * Zátěžová ukázka pro SpectatorFeed.main: headless hra, viewers diváků (každý desátý pomalý),
+     * na konci porovnání zrcadel se stavem hry (bajty snapshotu).
+     */
+    static void loadTest(int viewers, int turns, int players) throws Exception {
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= players; i++) {
+            names.add("Hráč " + i);
+        }
+        GameState game = new GameState(names, 42L);
+        TurnEngine engine = new TurnEngine(game, Collections.nCopies(players, DecisionPolicy.ALWAYS_BUY));
+
+        try (SpectatorFeed feed = new SpectatorFeed(game, 0);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            game.addListener(feed);
+            List<SpectatorClient> clients = new ArrayList<>(viewers);
+            for (int v = 0; v < viewers; v++) {
+                boolean slow = v % 10 == 9;
+                SpectatorClient client = connect(feed.getPort(), slow ? 4096 : 0);
+                clients.add(client);
+                executor.submit(() -> {
+                    while (client.readNext()) {
+                        if (slow) Thread.sleep(5);
+                    }
+                    return null;
+                });
+            }
+            while (feed.getViewerCount() < viewers) {
+                Thread.sleep(1);
+            }
+
+            long start = System.nanoTime();
+            int played = 0;
+            while (played < turns && engine.playTurn()) {
+                played++;
+                LockSupport.parkNanos(100_000); // ~10 000 tahů/s
+            }
+            // prázdné delty jako heartbeat – čekajícím na resync přinesou snapshot
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            do {
+                feed.flush();
+                Thread.sleep(20);
+            } while (System.nanoTime() < deadline && !caughtUp(clients, feed.getFrameNumber()));
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            byte[] expected = bytes(game);
+            int mismatches = 0;
+            int hashMismatches = 0;
+            long total = 0;
+            int snapshots = 0;
+            for (SpectatorClient c : clients) {
+                c.close();
+            }
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+            for (SpectatorClient c : clients) {
+                if (c.getState() == null || !Arrays.equals(expected, bytes(c.getState()))) mismatches++;
+                hashMismatches += c.getHashMismatches();
+                total += c.getBytes();
+                snapshots += c.getSnapshots();
+            }
+            System.out.printf("%d diváků, %d tahů za %.2f s, %.1f B na tah a diváka%n",
+                    viewers, played, seconds, (double) total / viewers / Math.max(1, played));
+            System.out.printf("Snapshotů %d (z toho resync %d), snapshot hry %d B%n",
+                    snapshots, feed.getResyncs(), expected.length);
+            System.out.println("Rozdíly zrcadlo/hra: " + mismatches + ", nesouhlasné hashe: " + hashMismatches);
+        }
+    }
+
+    private static boolean caughtUp(List<SpectatorClient> clients, int frame) {
+        for (SpectatorClient c : clients) {
+            if (c.getFrame() < frame) return false;
+        }
+        return true;
+    }
+
+    private static byte[] bytes(GameState state) {
+        byte[] snapshot = new byte[GameSnapshot.sizeOf(state)];
+        GameSnapshot.write(state, ByteBuffer.wrap(snapshot));
+        return snapshot;
+    }
+}
@@ -0,0 +1,501 @@
+package business;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Přenos běžící hry divákům na loopbacku. Po každém tahu (událost TURN) se z dotčených
+ * hráčů a polí sestaví kompaktní binární delta (posun, změna peněz, stav, vlastník a úroveň pole)
+ * a jedno vlákno se Selectorem ji rozešle všem divákům – bez vlákna na diváka.
+ *
+ * Každý divák má omezený výstupní buffer. Kdo nestíhá (delta se do bufferu nevejde), deltu
+ * nedostane: po vyprázdnění bufferu mu přijde nový snapshot (GameSnapshot) a pokračuje
+ * dalšími deltami. Snapshot se staví jen tehdy, když na něj někdo čeká, a všichni čekající
+ * sdílí stejné bajty.
+ *
+ * Protokol (server → divák, big-endian, každá zpráva je druh (byte) | délka těla (int) | tělo):
+ * <pre>
+ * SNAPSHOT snímek (int) | GameSnapshot
+ * DELTA    snímek (int) | hash (long, StateHash) | na tahu (varint)
+ *          | hráčů (varint) { hráč (varint) | maska (byte) | [pozice (varint)] [změna peněz (zigzag varint)]
+ *                             [příznaky (byte, jako GameSnapshot) | tahů ve vězení (byte)] }
+ *          | polí (varint) { pole (varint) | vlastník + 1 (varint) | úroveň (byte) }
+ * </pre>
+ * Události (onEvent), flush a resync se volají z vlákna, které hraje hru.
+ */
+public final class SpectatorFeed implements GameEventListener, AutoCloseable {
+
+    static final byte SNAPSHOT = 1;
+    static final byte DELTA = 2;
+
+    static final int HEADER = 5; // druh (byte) | délka těla (int)
+
+    static final int MOVED = 1;
+    static final int MONEY = 2;
+    static final int STATUS = 4;
+
+    // delta tahu má typicky desítky bajtů, 16 KiB je stovky tahů zpoždění
+    private static final int VIEWER_BUFFER = 16 * 1024;
+
+    private final GameState state;
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Frame> frames = new ConcurrentLinkedQueue<>();
+    private final List<Viewer> viewers = new ArrayList<>(); // jen vlákno selektoru
+    private volatile boolean snapshotWanted = false;
+    private volatile boolean closed = false;
+    private volatile int viewerCount;
+    private volatile long resyncs;
+
+    // Co už diváci vědí (stav po posledním snímku) a kdo se od té doby změnil – jen vlákno hry
+    private final int[] position;
+    private final int[] money;
+    private final int[] status;
+    private final int[] owner;
+    private final int[] level;
+    private final boolean[] playerTouched;
+    private final int[] touchedPlayers;
+    private int touchedPlayerCount;
+    private final boolean[] tileTouched;
+    private final int[] touchedTiles;
+    private int touchedTileCount;
+    private int frameNumber = 0;
+    private ByteBuffer delta = ByteBuffer.allocate(256);
+
+    // Snímek pro vlákno selektoru: delta a/nebo snapshot (sdílené, jen ke čtení)
+    private record Frame(int number, ByteBuffer delta, ByteBuffer snapshot) {
+    }
+
+    public SpectatorFeed(GameState state, int port) {
+        this.state = state;
+        int players = state.getPlayers().size();
+        int tiles = state.getTiles().size();
+        position = new int[players];
+        money = new int[players];
+        status = new int[players];
+        owner = new int[tiles];
+        level = new int[tiles];
+        playerTouched = new boolean[players];
+        touchedPlayers = new int[players];
+        tileTouched = new boolean[tiles];
+        touchedTiles = new int[tiles];
+        try {
+            server = ServerSocketChannel.open();
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+            server.configureBlocking(false);
+            selector = Selector.open();
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze spustit přenos pro diváky na portu " + port, e);
+        }
+        resync();
+        thread = Thread.ofPlatform().name("spectator-feed").daemon().start(this::selectLoop);
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    public int getViewerCount() {
+        return viewerCount;
+    }
+
+    /**
+     * Kolikrát divák nestíhal a dostal místo delt nový snapshot.
+     */
+    public long getResyncs() {
+        return resyncs;
+    }
+
+    // číslo posledního odeslaného snímku – jen vlákno hry
+    int getFrameNumber() {
+        return frameNumber;
+    }
+
+    @Override
+    public void onEvent(GameEventType type, int player, int a, int b) {
+        switch (type) {
+            case TURN -> {
+                flush();
+                return;
+            }
+            case BUY, UPGRADE -> touchTile(a);
+            case RENT -> {
+                Player rentOwner = state.getTiles().get(a).getOwner();
+                if (rentOwner != null) touchPlayer(rentOwner.getId());
+            }
+            case CARD -> {
+                if (state.getDeck().getCard(a).getEffect() == ChanceCard.Effect.COLLECT_FROM_ALL) {
+                    for (int i = 0; i < position.length; i++) {
+                        touchPlayer(i);
+                    }
+                }
+            }
+            case BANKRUPT -> {
+                // pole se vrátila bance – dotčená jsou ta, která divák zná jako jeho
+                for (int t = 0; t < owner.length; t++) {
+                    if (owner[t] == player) touchTile(t);
+                }
+            }
+            default -> {
+            }
+        }
+        touchPlayer(player);
+    }
+
+    /**
+     * Pošle divákům deltu změn od minulého snímku (volá se samo při každém TURN;
+     * ručně třeba po posledním tahu hry).
+     */
+    public void flush() {
+        // jen hráči a pole, kteří se opravdu změnili (dotčení se přefiltrují na místě)
+        int players = 0;
+        for (int i = 0; i < touchedPlayerCount; i++) {
+            int id = touchedPlayers[i];
+            playerTouched[id] = false;
+            Player p = state.getPlayers().get(id);
+            if (p.getPosition() != position[id] || p.getMoney() != money[id] || statusOf(p) != status[id]) {
+                touchedPlayers[players++] = id;
+            }
+        }
+        int tiles = 0;
+        for (int i = 0; i < touchedTileCount; i++) {
+            int index = touchedTiles[i];
+            tileTouched[index] = false;
+            Tile t = state.getTiles().get(index);
+            if ((t.isOwned() ? t.getOwner().getId() : -1) != owner[index] || t.getLevel() != level[index]) {
+                touchedTiles[tiles++] = index;
+            }
+        }
+        touchedPlayerCount = 0;
+        touchedTileCount = 0;
+        frameNumber++;
+
+        delta.clear();
+        delta.put(DELTA).putInt(0).putInt(frameNumber).putLong(state.getHash().get());
+        putVarInt(state.getCurrentPlayerIndex());
+        putVarInt(players);
+        for (int i = 0; i < players; i++) {
+            int id = touchedPlayers[i];
+            Player p = state.getPlayers().get(id);
+            int newStatus = statusOf(p);
+            int mask = (p.getPosition() != position[id] ? MOVED : 0)
+                    | (p.getMoney() != money[id] ? MONEY : 0)
+                    | (newStatus != status[id] ? STATUS : 0);
+            putVarInt(id);
+            ensure(1);
+            delta.put((byte) mask);
+            if ((mask & MOVED) != 0) putVarInt(p.getPosition());
+            if ((mask & MONEY) != 0) putVarInt(zigzag(p.getMoney() - money[id]));
+            if ((mask & STATUS) != 0) {
+                ensure(2);
+                delta.put((byte) (newStatus >>> 8)).put((byte) newStatus);
+            }
+            position[id] = p.getPosition();
+            money[id] = p.getMoney();
+            status[id] = newStatus;
+        }
+        putVarInt(tiles);
+        for (int i = 0; i < tiles; i++) {
+            int index = touchedTiles[i];
+            Tile t = state.getTiles().get(index);
+            owner[index] = t.isOwned() ? t.getOwner().getId() : -1;
+            level[index] = t.getLevel();
+            putVarInt(index);
+            putVarInt(owner[index] + 1);
+            ensure(1);
+            delta.put((byte) level[index]);
+        }
+        delta.putInt(1, delta.position() - HEADER);
+
+        byte[] bytes = new byte[delta.position()];
+        delta.get(0, bytes);
+        publish(ByteBuffer.wrap(bytes).asReadOnlyBuffer(), snapshotWanted ? snapshot() : null);
+    }
+
+    /**
+     * Stav se změnil mimo pravidla (undo, turbo, obnova) – delty nestačí,
+     * všichni diváci dostanou nový snapshot.
+     */
+    public void resync() {
+        for (int i = 0; i < touchedPlayerCount; i++) {
+            playerTouched[touchedPlayers[i]] = false;
+        }
+        for (int i = 0; i < touchedTileCount; i++) {
+            tileTouched[touchedTiles[i]] = false;
+        }
+        touchedPlayerCount = 0;
+        touchedTileCount = 0;
+        for (Player p : state.getPlayers()) {
+            position[p.getId()] = p.getPosition();
+            money[p.getId()] = p.getMoney();
+            status[p.getId()] = statusOf(p);
+        }
+        for (Tile t : state.getTiles()) {
+            owner[t.getIndex()] = t.isOwned() ? t.getOwner().getId() : -1;
+            level[t.getIndex()] = t.getLevel();
+        }
+        frameNumber++;
+        publish(null, snapshot());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publish(ByteBuffer deltaFrame, ByteBuffer snapshotFrame) {
+        if (snapshotFrame != null) {
+            snapshotWanted = false; // vlákno selektoru ho nastaví znovu, pokud ještě někdo čeká
+        }
+        frames.add(new Frame(frameNumber, deltaFrame, snapshotFrame));
+        selector.wakeup();
+    }
+
+    private ByteBuffer snapshot() {
+        byte[] bytes = new byte[HEADER + 4 + GameSnapshot.sizeOf(state)];
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        buf.put(SNAPSHOT).putInt(bytes.length - HEADER).putInt(frameNumber);
+        GameSnapshot.write(state, buf);
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    private static int statusOf(Player p) {
+        int flags = (p.isBankrupt() ? GameSnapshot.FLAG_BANKRUPT : 0) | (p.isInJail() ? GameSnapshot.FLAG_JAIL : 0);
+        return flags << 8 | p.getJailTurns();
+    }
+
+    private void touchPlayer(int id) {
+        if (!playerTouched[id]) {
+            playerTouched[id] = true;
+            touchedPlayers[touchedPlayerCount++] = id;
+        }
+    }
+
+    private void touchTile(int index) {
+        if (!tileTouched[index]) {
+            tileTouched[index] = true;
+            touchedTiles[touchedTileCount++] = index;
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (delta.remaining() < bytes) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(delta.capacity() * 2, delta.position() + bytes));
+            delta.flip();
+            delta = bigger.put(delta);
+        }
+    }
+
+    private void putVarInt(int value) {
+        ensure(5);
+        putVarInt(delta, value);
+    }
+
+    // 7 bitů na bajt od nejnižších, horní bit = pokračuje; záporné číslo zabere 5 bajtů
+    static void putVarInt(ByteBuffer buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    static int getVarInt(ByteBuffer buf) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buf.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    static int zigzag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    static int unzigzag(int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    // ---- vlákno selektoru ----
+
+    /**
+     * Jeden divák: omezený buffer delt a případně rozepsaný sdílený snapshot.
+     */
+    private static final class Viewer {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer out = ByteBuffer.allocate(VIEWER_BUFFER);
+        private ByteBuffer snapshot;
+        private boolean live = false; // dostává delty (má aktuální snapshot)
+
+        Viewer(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        boolean drained() {
+            return snapshot == null && out.position() == 0;
+        }
+    }
+
+    private void selectLoop() {
+        Frame latest = null; // poslední snímek se snapshotem
+        int lastFrame = 0;
+        ByteBuffer discard = ByteBuffer.allocate(256);
+        try {
+            while (!closed) {
+                selector.select();
+                Frame frame;
+                while ((frame = frames.poll()) != null) {
+                    lastFrame = frame.number();
+                    if (frame.snapshot() != null) latest = frame;
+                    for (Viewer v : viewers) {
+                        deliver(v, frame);
+                    }
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept(latest != null && latest.number() == lastFrame ? latest : null);
+                    } else {
+                        Viewer v = (Viewer) key.attachment();
+                        if (key.isReadable()) {
+                            discard.clear();
+                            if (v.channel.read(discard) < 0) { // divák nic neposílá, jen zavírá
+                                drop(v);
+                                continue;
+                            }
+                        }
+                        if (key.isWritable()) {
+                            write(v);
+                        }
+                    }
+                }
+                boolean waiting = false;
+                for (Viewer v : viewers) {
+                    waiting |= !v.live;
+                }
+                snapshotWanted = waiting;
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("Přenos pro diváky skončil: " + e.getMessage());
+            }
+        } finally {
+            for (Viewer v : List.copyOf(viewers)) {
+                drop(v);
+            }
+            try {
+                selector.close();
+                server.close();
+            } catch (IOException e) {
+                // už zavřeno
+            }
+        }
+    }
+
+    private void accept(Frame current) throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            // i jádro smí držet jen málo – jinak by pomalý divák hromadil zpoždění v socketu
+            channel.setOption(StandardSocketOptions.SO_SNDBUF, VIEWER_BUFFER);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            Viewer v = new Viewer(channel, key);
+            key.attach(v);
+            viewers.add(v);
+            viewerCount = viewers.size();
+            if (current != null) {
+                // hra od posledního snapshotu nepokročila – divák ho může dostat hned
+                v.snapshot = current.snapshot().duplicate();
+                v.live = true;
+                write(v);
+            }
+        }
+    }
+
+    private void deliver(Viewer v, Frame frame) {
+        if (v.live) {
+            if (frame.delta() != null && v.out.remaining() >= frame.delta().remaining()) {
+                v.out.put(frame.delta().duplicate());
+            } else {
+                v.live = false; // nestíhá (nebo resync) – zbytek bufferu dojede, pak snapshot
+                if (frame.delta() != null) resyncs++;
+            }
+        }
+        if (!v.live && v.drained() && frame.snapshot() != null) {
+            v.snapshot = frame.snapshot().duplicate();
+            v.live = true;
+        }
+        write(v);
+    }
+
+    private void write(Viewer v) {
+        try {
+            if (v.snapshot != null) {
+                v.channel.write(v.snapshot);
+                if (!v.snapshot.hasRemaining()) {
+                    v.snapshot = null;
+                }
+            }
+            if (v.snapshot == null && v.out.position() > 0) {
+                v.out.flip();
+                v.channel.write(v.out);
+                v.out.compact();
+            }
+            v.key.interestOps(v.drained() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } catch (IOException e) {
+            drop(v);
+        }
+    }
+
+    private void drop(Viewer v) {
+        v.key.cancel();
+        try {
+            v.channel.close();
+        } catch (IOException e) {
+            // už zavřeno
+        }
+        viewers.remove(v);
+        viewerCount = viewers.size();
+    }
+
+    /**
+     * Samostatná ukázka: [diváků] [tahů] [hráčů] – headless hra s pomalými i rychlými diváky
+     * (SpectatorClient) na loopbacku, na konci se zrcadla diváků porovnají s hrou.
+     */
+    public static void main(String[] args) throws Exception {
+        int viewers = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int turns = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        SpectatorClient.loadTest(viewers, turns, players);
+    }
+}
@@ -0,0 +1,32 @@
+package business;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Měření fází startu hry (od kliknutí na "Spustit hru" po první snímek s deskou).
+ * Fáze se zapisují z FX vlákna i z vlákna na pozadí, proto synchronized.
+ */
+public class StartupTimer {
+
+    private final long start = System.nanoTime();
+    private final List<String> phases = new ArrayList<>();
+    private final List<Long> times = new ArrayList<>();
+
+    public synchronized void mark(String phase) {
+        phases.add(phase);
+        times.add(System.nanoTime());
+    }
+
+    public synchronized String report() {
+        StringBuilder sb = new StringBuilder("Start hry:");
+        long previous = start;
+        for (int i = 0; i < phases.size(); i++) {
+            long t = times.get(i);
+            sb.append(String.format("%n  %-24s %7.1f ms  (celkem %7.1f ms)", phases.get(i),
+                    (t - previous) / 1e6, (t - start) / 1e6));
+            previous = t;
+        }
+        return sb.toString();
+    }
+}
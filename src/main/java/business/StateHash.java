@@ -0,0 +1,117 @@
+package business;
+
+/**
+ * Průběžný 64bitový hash stavu hry ve stylu Zobrist: každá složka stavu (pozice, peněžní pásmo,
+ * vězení a bankrot hráče, vlastník a úroveň pole, hráč na tahu) má svůj náhodný 64bitový klíč
+ * a hash je součet klíč * hodnota (mod 2^64). Změna složky = jedno násobení a sčítání,
+ * aktualizují ho přímo mutátory Player, Tile a GameState – dost levné, aby běžel pořád.
+ *
+ * Klíč se nepočítá pro každou hodnotu zvlášť (to by u desky o tisících polí se stovkami
+ * hráčů chtělo megabajty tabulek), hodnota ho jen násobí. Výchozí hodnoty (začátek hry) jsou 0,
+ * takže nová hra má hash 0.
+ */
+public final class StateHash {
+
+    /** Peníze se hashují po pásmech (peníze - START_MONEY) / MONEY_BUCKET. */
+    public static final int MONEY_BUCKET = 10;
+
+    private static final int POSITION = 0;
+    private static final int MONEY = 1;
+    private static final int JAIL = 2;
+    private static final int BANKRUPT = 3;
+    private static final int OWNER = 4;
+    private static final int LEVEL = 5;
+    private static final int CURRENT = 6;
+    private static final int KINDS = 7;
+
+    // předpočítané klíče pro indexy < CACHED, větší se dopočítají
+    private static final int CACHED = 4096;
+    private static final long[] KEYS = new long[KINDS * CACHED];
+
+    static {
+        for (int kind = 0; kind < KINDS; kind++) {
+            for (int index = 0; index < CACHED; index++) {
+                KEYS[kind * CACHED + index] = computeKey(kind, index);
+            }
+        }
+    }
+
+    private long value;
+
+    public long get() {
+        return value;
+    }
+
+    /**
+     * Hash spočítaný celý znovu – pro kontrolu průběžné hodnoty.
+     */
+    public static long of(GameState state) {
+        long h = 0;
+        for (Player p : state.getPlayers()) {
+            h += playerKey(p.getId(), p.getPosition(), p.getMoney(), p.getJailTurns(), p.isBankrupt());
+        }
+        for (Tile t : state.getTiles()) {
+            h += tileKey(t.getIndex(), t.isOwned() ? t.getOwner().getId() : -1, t.getLevel());
+        }
+        return h + currentKey(state.getCurrentPlayerIndex());
+    }
+
+    // Příspěvky složek pro výpočet z jiné reprezentace stavu (BatchSimulator), sčítají se
+    static long playerKey(int player, int position, int money, int jailTurns, boolean bankrupt) {
+        return key(POSITION, player) * position + key(MONEY, player) * bucket(money)
+                + key(JAIL, player) * jailTurns + (bankrupt ? key(BANKRUPT, player) : 0);
+    }
+
+    static long tileKey(int tile, int owner, int level) {
+        return key(OWNER, tile) * (owner + 1) + key(LEVEL, tile) * level;
+    }
+
+    static long currentKey(int player) {
+        return key(CURRENT, 0) * player;
+    }
+
+    void position(int player, int from, int to) {
+        value += key(POSITION, player) * (to - from);
+    }
+
+    void money(int player, int from, int to) {
+        value += key(MONEY, player) * (bucket(to) - bucket(from));
+    }
+
+    void jail(int player, int fromTurns, int toTurns) {
+        value += key(JAIL, player) * (toTurns - fromTurns);
+    }
+
+    void bankrupt(int player, boolean from, boolean to) {
+        if (from != to) value += to ? key(BANKRUPT, player) : -key(BANKRUPT, player);
+    }
+
+    // vlastník -1 = banka
+    void owner(int tile, int from, int to) {
+        value += key(OWNER, tile) * (to - from);
+    }
+
+    void level(int tile, int from, int to) {
+        value += key(LEVEL, tile) * (to - from);
+    }
+
+    void current(int from, int to) {
+        value += key(CURRENT, 0) * (to - from);
+    }
+
+    private static int bucket(int money) {
+        return Math.floorDiv(money - Player.START_MONEY, MONEY_BUCKET);
+    }
+
+    private static long key(int kind, int index) {
+        return index < CACHED ? KEYS[kind * CACHED + index] : computeKey(kind, index);
+    }
+
+    // SplitMix64 nad (druh, index); liché, aby násobení hodnotou nebylo nikdy nulové
+    private static long computeKey(int kind, int index) {
+        long z = ((long) kind << 32 | index) * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) | 1;
+    }
+}
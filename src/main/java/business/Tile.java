@@ -1,21 +1,40 @@
 package business;
 
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+
 public class Tile {
     private final int index;
     private final TileType type;
     private final String name;
     private final int price;
     private final int baseRent;
+    private final int group; // barevná skupina, -1 = není nemovitost
 
     private Player owner;
     private int level = 0; // 0 = nic, 1–3 = domy
+    private ReadOnlyIntegerWrapper levelProperty; // jen pro HUD, vytváří se na vyžádání
+    private OwnershipIndex ownership; // index hry, ke které pole patří (může být null)
+    private StateHash hash;           // hash stavu hry (může být null)
+    private GameState state;          // hra kvůli sledování změn pro verze (může být null)
 
     public Tile(int index, TileType type, String name, int price, int baseRent) {
+        this(index, type, name, price, baseRent, -1);
+    }
+
+    public Tile(int index, TileType type, String name, int price, int baseRent, int group) {
         this.index = index;
         this.type = type;
         this.name = name;
         this.price = price;
         this.baseRent = baseRent;
+        this.group = group;
+    }
+
+    void attach(GameState state) {
+        this.state = state;
+        this.ownership = state.getOwnership();
+        this.hash = state.getHash();
     }
 
     public int getIndex() {
@@ -38,8 +57,17 @@ public class Tile {
         return owner;
     }
 
+    public int getGroup() {
+        return group;
+    }
+
     public void setOwner(Player owner) {
+        Player previous = this.owner;
+        int previousValue = getValue();
         this.owner = owner;
+        if (hash != null) hash.owner(index, previous == null ? -1 : previous.getId(), owner == null ? -1 : owner.getId());
+        if (ownership != null) ownership.update(this, previous, previousValue);
+        if (state != null) state.markTile(index);
     }
 
     public boolean isOwned() {
@@ -50,6 +78,13 @@ public class Tile {
         return level;
     }
 
+    public ReadOnlyIntegerProperty levelProperty() {
+        if (levelProperty == null) {
+            levelProperty = new ReadOnlyIntegerWrapper(this, "level", level);
+        }
+        return levelProperty.getReadOnlyProperty();
+    }
+
     public boolean canUpgrade() {
         return level < 3 && isOwned();
     }
@@ -60,11 +95,34 @@ public class Tile {
 
     public void upgrade() {
         if (canUpgrade()) {
+            int previousValue = getValue();
             level++;
+            if (hash != null) hash.level(index, level - 1, level);
+            if (levelProperty != null) levelProperty.set(level);
+            if (ownership != null) ownership.update(this, owner, previousValue);
+            if (state != null) state.markTile(index);
         }
     }
 
+    // Obnova úrovně ze snapshotu (GameSnapshot) nebo vrácení pole bance
+    void restoreLevel(int level) {
+        int previousValue = getValue();
+        if (hash != null) hash.level(index, this.level, level);
+        this.level = level;
+        if (levelProperty != null) levelProperty.set(level);
+        if (ownership != null) ownership.update(this, owner, previousValue);
+        if (state != null) state.markTile(index);
+    }
+
+    /**
+     * Hodnota pole pro majetek hráče: cena + co stály postavené domy.
+     */
+    public int getValue() {
+        return price + level * (price / 2) + 50 * level * (level - 1) / 2;
+    }
+
     public int getRent() {
-        return baseRent + level * 50;
+        int rent = baseRent + level * 50;
+        return ownership == null ? rent : rent * ownership.getRentMultiplier(this);
     }
 }
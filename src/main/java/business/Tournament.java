@@ -0,0 +1,264 @@
+package business;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Turnaj strategií (DecisionPolicy) každý s každým. Zápas = skupina strategií o velikosti
+ * playersPerGame; hry zápasu se střídají v rotacích usazení, aby nikdo netěžil z prvního tahu.
+ * Hry jednoho zápasu běží paralelně na všech jádrech a výsledky se sčítají jen do
+ * RunningStats – paměť nezávisí na počtu her. Řádky CSV se zapisují hned po dohrání zápasu.
+ */
+public class Tournament {
+
+    static final String CSV_HEADER = "zapas,strategie,hry,vyhry,podil_vyher,podil_vyher_chyba,nedohrano,"
+            + "tahy_prumer,tahy_odchylka,tahy_min,tahy_max,bankroty,bankrot_tah_prumer,bankrot_tah_odchylka";
+
+    private final List<String> names;
+    private final List<DecisionPolicy> policies;
+    private final int playersPerGame;
+    private final int maxTurns;
+
+    public Tournament(Map<String, DecisionPolicy> strategies, int playersPerGame, int maxTurns) {
+        if (playersPerGame < 2 || playersPerGame > strategies.size()) {
+            throw new IllegalArgumentException("Hráčů ve hře musí být 2 až " + strategies.size());
+        }
+        this.names = List.copyOf(strategies.keySet());
+        this.policies = List.copyOf(strategies.values());
+        this.playersPerGame = playersPerGame;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Odehraje všechny zápasy po gamesPerMatch hrách, průběžně zapisuje CSV do out
+     * a vrátí souhrn za strategie přes celý turnaj.
+     */
+    public Map<String, StrategyStats> run(long gamesPerMatch, long seed, Writer out) {
+        Map<String, StrategyStats> totals = new LinkedHashMap<>();
+        for (String name : names) {
+            totals.put(name, new StrategyStats());
+        }
+        write(out, CSV_HEADER);
+
+        List<int[]> matches = combinations(names.size(), playersPerGame);
+        for (int m = 0; m < matches.size(); m++) {
+            int[] match = matches.get(m);
+            long matchSeed = MonteCarloSimulator.gameSeed(seed, m * gamesPerMatch);
+            MatchStats stats = LongStream.range(0, gamesPerMatch)
+                    .parallel()
+                    .collect(() -> new MatchStats(match.length),
+                            (s, i) -> s.add(playGame(match, matchSeed, i)),
+                            MatchStats::merge);
+
+            String label = matchLabel(match);
+            for (int k = 0; k < match.length; k++) {
+                StrategyStats strategy = stats.strategies[k];
+                write(out, csvRow(label, names.get(match[k]), strategy));
+                totals.get(names.get(match[k])).merge(strategy);
+            }
+            flush(out);
+        }
+        for (Map.Entry<String, StrategyStats> e : totals.entrySet()) {
+            write(out, csvRow("celkem", e.getKey(), e.getValue()));
+        }
+        flush(out);
+        return totals;
+    }
+
+    // Hra i zápasu: rotace i % k posadí strategii match[(seat + i) % k] na místo seat
+    private Outcome playGame(int[] match, long matchSeed, long i) {
+        int k = match.length;
+        int rotation = (int) (i % k);
+        List<String> seatNames = new ArrayList<>(k);
+        List<DecisionPolicy> seatPolicies = new ArrayList<>(k);
+        for (int seat = 0; seat < k; seat++) {
+            int strategy = match[(seat + rotation) % k];
+            seatNames.add(names.get(strategy));
+            seatPolicies.add(policies.get(strategy));
+        }
+        GameState state = new GameState(seatNames, MonteCarloSimulator.gameSeed(matchSeed, i));
+        return new Outcome(rotation, new TurnEngine(state, seatPolicies).playGame(maxTurns));
+    }
+
+    private record Outcome(int rotation, GameResult result) {
+    }
+
+    /**
+     * Statistiky jedné strategie: výhry (jako 0/1 pro průměr a chybu), délka her a tah bankrotu.
+     */
+    public static final class StrategyStats {
+        private final RunningStats wins = new RunningStats();
+        private final RunningStats turns = new RunningStats();
+        private final RunningStats bankruptcyTurns = new RunningStats();
+        private long unfinished = 0;
+
+        void add(boolean won, boolean finished, int gameTurns, int bankruptcyTurn) {
+            wins.add(won ? 1 : 0);
+            turns.add(gameTurns);
+            if (!finished) {
+                unfinished++;
+            }
+            if (bankruptcyTurn > 0) {
+                bankruptcyTurns.add(bankruptcyTurn);
+            }
+        }
+
+        void merge(StrategyStats other) {
+            wins.merge(other.wins);
+            turns.merge(other.turns);
+            bankruptcyTurns.merge(other.bankruptcyTurns);
+            unfinished += other.unfinished;
+        }
+
+        public RunningStats getWins() {
+            return wins;
+        }
+
+        public RunningStats getTurns() {
+            return turns;
+        }
+
+        public RunningStats getBankruptcyTurns() {
+            return bankruptcyTurns;
+        }
+
+        public long getUnfinished() {
+            return unfinished;
+        }
+    }
+
+    private static final class MatchStats {
+        private final StrategyStats[] strategies;
+
+        MatchStats(int size) {
+            strategies = new StrategyStats[size];
+            for (int i = 0; i < size; i++) {
+                strategies[i] = new StrategyStats();
+            }
+        }
+
+        void add(Outcome outcome) {
+            GameResult r = outcome.result();
+            int k = strategies.length;
+            for (int seat = 0; seat < k; seat++) {
+                int slot = (seat + outcome.rotation()) % k;
+                strategies[slot].add(r.winnerId() == seat, r.hasWinner(), r.turns(), r.bankruptcyTurns()[seat]);
+            }
+        }
+
+        void merge(MatchStats other) {
+            for (int i = 0; i < strategies.length; i++) {
+                strategies[i].merge(other.strategies[i]);
+            }
+        }
+    }
+
+    private String matchLabel(int[] match) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < match.length; i++) {
+            if (i > 0) {
+                sb.append(" vs ");
+            }
+            sb.append(names.get(match[i]));
+        }
+        return sb.toString();
+    }
+
+    private static String csvRow(String match, String strategy, StrategyStats s) {
+        return String.format(Locale.ROOT, "\"%s\",\"%s\",%d,%d,%.6f,%.6f,%d,%.3f,%.3f,%.0f,%.0f,%d,%.3f,%.3f",
+                match, strategy, s.wins.getCount(), Math.round(s.wins.getMean() * s.wins.getCount()),
+                s.wins.getMean(), s.wins.getStdError(), s.unfinished,
+                s.turns.getMean(), s.turns.getStdDev(), s.turns.getMin(), s.turns.getMax(),
+                s.bankruptcyTurns.getCount(), s.bankruptcyTurns.getMean(), s.bankruptcyTurns.getStdDev());
+    }
+
+    // všechny k-prvkové kombinace indexů 0..n-1 ve vzestupném pořadí
+    static List<int[]> combinations(int n, int k) {
+        List<int[]> result = new ArrayList<>();
+        int[] current = new int[k];
+        for (int i = 0; i < k; i++) {
+            current[i] = i;
+        }
+        while (true) {
+            result.add(current.clone());
+            int i = k - 1;
+            while (i >= 0 && current[i] == n - k + i) {
+                i--;
+            }
+            if (i < 0) {
+                return result;
+            }
+            current[i]++;
+            for (int j = i + 1; j < k; j++) {
+                current[j] = current[j - 1] + 1;
+            }
+        }
+    }
+
+    private static void write(Writer out, String line) {
+        try {
+            out.write(line);
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze zapsat výsledky turnaje", e);
+        }
+    }
+
+    private static void flush(Writer out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nelze zapsat výsledky turnaje", e);
+        }
+    }
+
+    /**
+     * Standardní sada strategií pro turnaj.
+     */
+    public static Map<String, DecisionPolicy> standardStrategies() {
+        Map<String, DecisionPolicy> strategies = new LinkedHashMap<>();
+        strategies.put("vždy kupuje", DecisionPolicy.ALWAYS_BUY);
+        strategies.put("nikdy nekupuje", DecisionPolicy.NEVER_BUY);
+        strategies.put("nestaví", DecisionPolicy.NEVER_UPGRADE);
+        strategies.put("do 140 Kč", DecisionPolicy.buyUnder(140));
+        strategies.put("rezerva 300 Kč", DecisionPolicy.keepReserve(300));
+        return strategies;
+    }
+
+    /**
+     * Spuštění z příkazové řádky: [her na zápas] [hráčů ve hře] [CSV soubor] [seed]
+     */
+    public static void main(String[] args) throws IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        Path csv = Path.of(args.length > 2 ? args[2] : "turnaj.csv");
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+        Tournament tournament = new Tournament(standardStrategies(), players, MonteCarloSimulator.DEFAULT_MAX_TURNS);
+        long start = System.nanoTime();
+        Map<String, StrategyStats> totals;
+        try (Writer out = Files.newBufferedWriter(csv)) {
+            totals = tournament.run(games, seed, out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long played = 0;
+        for (Map.Entry<String, StrategyStats> e : totals.entrySet()) {
+            RunningStats wins = e.getValue().getWins();
+            System.out.printf("%-16s výhry %.2f %% ± %.2f %%, průměrně %.1f tahů%n", e.getKey(),
+                    wins.getMean() * 100, wins.getStdError() * 100, e.getValue().getTurns().getMean());
+            played += wins.getCount();
+        }
+        played /= players;
+        System.out.printf("%d her za %.2f s (%.0f her/min), výsledky v %s%n", played, seconds, played / seconds * 60, csv);
+    }
+}
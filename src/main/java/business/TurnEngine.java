@@ -0,0 +1,130 @@
+package business;
+
+import java.util.List;
+
+/**
+ * Headless průběh hry – stejná pravidla jako GameScene.nextTurn()/doDiceResult(),
+ * jen bez Timeline, animací a labelů. Rozhodnutí v nabídce nemovitosti dělají DecisionPolicy,
+ * kostka a karty berou náhodu z generátoru GameState.
+ */
+public class TurnEngine {
+
+    private final GameState state;
+    private final DecisionPolicy[] policies;
+    private final int[] bankruptcyTurns;
+    private int recordedActive; // počet aktivních při posledním zápisu bankrotů
+    private int turn = 0;
+
+    public TurnEngine(GameState state, List<DecisionPolicy> policies) {
+        if (policies.size() != state.getPlayers().size()) {
+            throw new IllegalArgumentException("Počet strategií (" + policies.size()
+                    + ") neodpovídá počtu hráčů (" + state.getPlayers().size() + ")");
+        }
+        this.state = state;
+        this.policies = policies.toArray(new DecisionPolicy[0]);
+        this.bankruptcyTurns = new int[policies.size()];
+        this.recordedActive = state.getPlayers().size();
+    }
+
+    /**
+     * Odehraje jeden tah aktuálního hráče (odpovídá jednomu kliknutí na "Hodit kostku").
+     * Vrací false, pokud už hra skončila.
+     */
+    public boolean playTurn() {
+        if (isFinished()) {
+            return false;
+        }
+        turn++;
+        Player player = state.getCurrentPlayer();
+        if (player.isBankrupt()) {
+            state.nextPlayer();
+            return true;
+        }
+        if (player.isInJail()) {
+            GameRules.jailTurn(player, state);
+            state.nextPlayer();
+            return true;
+        }
+
+        int roll = GameRules.rollDice(state);
+        GameRules.move(player, roll, state);
+        Tile tile = state.getTileAt(player.getPosition());
+
+        if (tile.getType() == TileType.NEMOVITOST) {
+            resolveProperty(player, tile);
+        } else {
+            GameRules.applyTile(player, tile, state);
+        }
+        recordBankruptcies();
+
+        if (!isFinished()) {
+            state.nextPlayer();
+        }
+        return true;
+    }
+
+    /**
+     * Hraje, dokud nezbude jediný hráč nebo se nedosáhne limitu tahů.
+     */
+    public GameResult playGame(int maxTurns) {
+        while (turn < maxTurns && playTurn()) {
+            // tahy se odehrávají v playTurn
+        }
+        return new GameResult(winnerId(), turn, bankruptcyTurns.clone());
+    }
+
+    public boolean isFinished() {
+        return state.getActivePlayerCount() <= 1;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    // Stejné větve jako GameScene.showPropertyMenu, jen místo tlačítek rozhoduje strategie
+    private void resolveProperty(Player player, Tile tile) {
+        DecisionPolicy policy = policies[player.getId()];
+        if (!tile.isOwned()) {
+            if (GameRules.canBuy(player, tile) && policy.shouldBuy(player, tile, state)) {
+                GameRules.buy(player, tile, state);
+            }
+        } else if (tile.getOwner() == player) {
+            if (GameRules.canUpgrade(player, tile) && policy.shouldUpgrade(player, tile, state)) {
+                GameRules.upgrade(player, tile, state);
+            }
+        } else {
+            GameRules.payRent(player, tile, state);
+        }
+    }
+
+    // Hráči se projdou jen v tahu, kdy někdo zkrachoval (i soupeři při COLLECT_FROM_ALL)
+    private void recordBankruptcies() {
+        int active = state.getActivePlayerCount();
+        if (active == recordedActive) {
+            return;
+        }
+        recordedActive = active;
+        List<Player> players = state.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            if (bankruptcyTurns[i] == 0 && players.get(i).isBankrupt()) {
+                bankruptcyTurns[i] = turn;
+            }
+        }
+    }
+
+    private int winnerId() {
+        if (!isFinished()) {
+            return -1;
+        }
+        for (Player p : state.getPlayers()) {
+            if (!p.isBankrupt()) {
+                return p.getId();
+            }
+        }
+        return -1;
+    }
+}
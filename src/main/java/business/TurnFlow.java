@@ -0,0 +1,161 @@
+package business;
+
+import java.util.List;
+
+/**
+ * Interaktivní tah GameScene bez JavaFX: začátek tahu, hod, pohyb po jednom poli, dopad
+ * (nabídka nemovitosti, nájem nebo efekt pole) a konec tahu. Scéna mezi kroky animuje
+ * a čeká na tlačítka, DesyncChecker.sceneLane projde stejné kroky najednou – kontrola
+ * determinismu tak pokrývá i interaktivní cestu, nejen TurnEngine.
+ */
+final class TurnFlow {
+
+    /**
+     * Jak začal tah hráče na tahu.
+     */
+    enum Start {
+        FINISHED, // zbývá jediný hráč, nic se nehrálo
+        BANKRUPT, // hráč na tahu je vyřazen, tah přešel na dalšího
+        JAIL,     // hráč odseděl tah ve vězení, tah přešel na dalšího
+        ROLL      // hráč hází
+    }
+
+    /**
+     * Co hráče čeká na poli, kam došel.
+     */
+    enum Landing {
+        BUY,     // volná nemovitost – nabídka koupě
+        UPGRADE, // vlastní nemovitost, kterou lze vylepšit – nabídka upgradu
+        RENT,    // cizí (nebo plně vylepšená vlastní) nemovitost – nájem je zaplacen
+        TILE     // jiné pole – efekt je proveden
+    }
+
+    private final GameState state;
+    private ChanceCard card; // karta z posledního dopadu TILE (nebo null)
+    private int rent;        // nájem z posledního dopadu RENT
+
+    TurnFlow(GameState state) {
+        this.state = state;
+    }
+
+    Start begin() {
+        if (state.getActivePlayerCount() <= 1) {
+            return Start.FINISHED;
+        }
+        Player player = state.getCurrentPlayer();
+        if (player.isBankrupt()) {
+            state.nextPlayer();
+            return Start.BANKRUPT;
+        }
+        if (player.isInJail()) {
+            GameRules.jailTurn(player, state);
+            state.nextPlayer();
+            return Start.JAIL;
+        }
+        return Start.ROLL;
+    }
+
+    int roll() {
+        return GameRules.rollDice(state);
+    }
+
+    /**
+     * Jeden krok figurky (scéna ho animuje pole po poli).
+     */
+    void step(Player player) {
+        GameRules.move(player, 1, state);
+    }
+
+    Landing land(Player player) {
+        Tile tile = state.getTileAt(player.getPosition());
+        card = null;
+        rent = 0;
+        if (tile.getType() != TileType.NEMOVITOST) {
+            card = GameRules.applyTile(player, tile, state);
+            return Landing.TILE;
+        }
+        if (!tile.isOwned()) {
+            return Landing.BUY;
+        }
+        if (tile.getOwner() == player && tile.canUpgrade()) {
+            return Landing.UPGRADE;
+        }
+        rent = GameRules.payRent(player, tile, state);
+        return Landing.RENT;
+    }
+
+    /**
+     * Koupě z nabídky; false, když na ni hráč nemá.
+     */
+    boolean buy(Player player, Tile tile) {
+        if (!GameRules.canBuy(player, tile)) {
+            return false;
+        }
+        GameRules.buy(player, tile, state);
+        return true;
+    }
+
+    /**
+     * Upgrade z nabídky; false, když na něj hráč nemá.
+     */
+    boolean upgrade(Player player, Tile tile) {
+        if (!GameRules.canUpgrade(player, tile)) {
+            return false;
+        }
+        GameRules.upgrade(player, tile, state);
+        return true;
+    }
+
+    /**
+     * Konec tahu – na tah přijde další aktivní hráč (po konci hry se už nepřepíná, jako v TurnEngine).
+     */
+    void end() {
+        if (state.getActivePlayerCount() > 1) {
+            state.nextPlayer();
+        }
+    }
+
+    ChanceCard getCard() {
+        return card;
+    }
+
+    int getRent() {
+        return rent;
+    }
+
+    /**
+     * Celý tah najednou ve stejném pořadí kroků jako scéna; nabídku místo tlačítek rozhodne
+     * strategie hráče. Vrací false, když už hra skončila.
+     */
+    boolean playTurn(List<DecisionPolicy> policies) {
+        Player player = state.getCurrentPlayer();
+        switch (begin()) {
+            case FINISHED -> {
+                return false;
+            }
+            case BANKRUPT, JAIL -> {
+                return true;
+            }
+            case ROLL -> {
+            }
+        }
+        int roll = roll();
+        for (int i = 0; i < roll; i++) {
+            step(player);
+        }
+        Tile tile = state.getTileAt(player.getPosition());
+        DecisionPolicy policy = policies.get(player.getId());
+        switch (land(player)) {
+            case BUY -> {
+                if (policy.shouldBuy(player, tile, state)) buy(player, tile);
+            }
+            case UPGRADE -> {
+                if (policy.shouldUpgrade(player, tile, state)) upgrade(player, tile);
+            }
+            case RENT, TILE -> {
+            }
+        }
+        end();
+        return true;
+    }
+}
@@ -1,6 +1,7 @@
 module org.example.test1 {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
 
 
     opens org.example.test1 to javafx.fxml;
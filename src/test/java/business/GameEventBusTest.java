@@ -0,0 +1,80 @@
+package business;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEventBusTest {
+
+    private record Event(GameEventType type, int player, int a, int b) {
+    }
+
+    private static Event event(int i) {
+        GameEventType[] types = GameEventType.values();
+        // záporné hodnoty hlídají skládání dvou int do jednoho long
+        return new Event(types[i % types.length], i % 4, -i, i * 31 - 1000);
+    }
+
+    private static final class Recorder implements GameEventBus.Subscriber {
+        final List<Event> events = new ArrayList<>();
+        final long delayNanos;
+
+        Recorder(long delayNanos) {
+            this.delayNanos = delayNanos;
+        }
+
+        @Override
+        public void onEvent(GameEventType type, int player, int a, int b) {
+            events.add(new Event(type, player, a, b));
+            if (delayNanos > 0) {
+                LockSupport.parkNanos(delayNanos);
+            }
+        }
+    }
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new GameEventBus(6));
+        assertThrows(IllegalArgumentException.class, () -> new GameEventBus(1));
+    }
+
+    @Test
+    void slowSubscriberGetsEveryEventAcrossWrapAround() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            GameEventBus bus = new GameEventBus(8);
+            Recorder fast = new Recorder(0);
+            Recorder slow = new Recorder(20_000);
+            bus.subscribe("fast", fast);
+            bus.subscribe("slow", slow);
+            int count = 500; // buffer se otočí víc než šedesátkrát
+            for (int i = 0; i < count; i++) {
+                Event e = event(i);
+                bus.onEvent(e.type(), e.player(), e.a(), e.b());
+            }
+            bus.close();
+
+            List<Event> expected = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                expected.add(event(i));
+            }
+            assertEquals(expected, fast.events);
+            assertEquals(expected, slow.events);
+            assertTrue(bus.getStalls() > 0, "zapisovatel měl na pomalého odběratele čekat");
+        });
+    }
+
+    @Test
+    void subscribeAfterCloseIsRejected() {
+        GameEventBus bus = new GameEventBus(4);
+        bus.close();
+        assertThrows(IllegalStateException.class, () -> bus.subscribe("late", new Recorder(0)));
+    }
+}
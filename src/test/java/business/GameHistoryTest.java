@@ -0,0 +1,108 @@
+package business;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameHistoryTest {
+
+    private static TurnEngine engine(GameState state) {
+        return new TurnEngine(state, Collections.nCopies(state.getPlayers().size(), DecisionPolicy.ALWAYS_BUY));
+    }
+
+    private static void assertAt(GameState state, GameVersion version) {
+        assertEquals(version.getHash(), state.getHash().get());
+        assertEquals(StateHash.of(state), state.getHash().get());
+        assertEquals(version.getCurrentPlayerIndex(), state.getCurrentPlayerIndex());
+    }
+
+    @Test
+    void undoAndRedoWalkTheHistory() {
+        GameState state = new GameState(List.of("A", "B", "C"), 11);
+        GameHistory history = new GameHistory(state);
+        GameVersion start = history.getCurrent();
+        assertFalse(history.canUndo());
+        assertThrows(IllegalStateException.class, history::undo);
+
+        TurnEngine engine = engine(state);
+        GameVersion[] versions = new GameVersion[6];
+        for (int i = 0; i < versions.length; i++) {
+            engine.playTurn();
+            versions[i] = history.record();
+        }
+        for (int i = versions.length - 2; i >= 0; i--) {
+            assertSame(versions[i], history.undo());
+            assertAt(state, versions[i]);
+        }
+        assertSame(start, history.undo());
+        assertAt(state, start);
+        for (GameVersion v : versions) {
+            assertSame(v, history.redo());
+            assertAt(state, v);
+        }
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    void newTurnAfterUndoStartsABranch() {
+        GameState state = new GameState(List.of("A", "B"), 3);
+        GameHistory history = new GameHistory(state);
+        TurnEngine engine = engine(state);
+        for (int i = 0; i < 4; i++) {
+            engine.playTurn();
+            history.record();
+        }
+        GameVersion original = history.getCurrent();
+        GameVersion fork = history.undo();
+
+        // generátor se neverzuje – kostka po undo padá jinak a vznikne jiné pokračování
+        GameVersion branch;
+        do {
+            engine.playTurn();
+            branch = history.record();
+        } while (branch == fork);
+        assertNotEquals(original.getHash(), branch.getHash());
+
+        history.undo();
+        assertSame(fork, history.getCurrent());
+        assertEquals(List.of(original, branch), history.getBranches());
+        // redo vede do naposledy použité větve
+        assertSame(branch, history.redo());
+        history.undo();
+        assertSame(original, history.jumpTo(original));
+        assertAt(state, original);
+        history.undo();
+        assertSame(original, history.redo());
+    }
+
+    @Test
+    void forkIntoScratchStateMatchesTheVersion() {
+        GameState state = new GameState(List.of("A", "B", "C"), 8);
+        GameVersion start = state.commitVersion();
+        TurnEngine engine = engine(state);
+        for (int i = 0; i < 30; i++) {
+            engine.playTurn();
+        }
+        GameVersion later = state.commitVersion();
+
+        GameState scratch = start.fork(state, new SplittableRandom(1));
+        assertAt(scratch, start);
+        engine(scratch).playGame(50);
+        assertSame(scratch, later.fork(scratch));
+        assertAt(scratch, later);
+        assertSame(scratch, start.fork(scratch));
+        assertAt(scratch, start);
+        assertAt(state, later); // původní hra se nezměnila
+
+        GameState other = new GameState(List.of("A", "B"), 8);
+        assertThrows(IllegalArgumentException.class, () -> start.fork(other));
+    }
+}
@@ -0,0 +1,78 @@
+package business;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OwnershipIndexTest {
+
+    private static List<Tile> group(GameState state, int group) {
+        return state.getTiles().stream().filter(t -> t.getGroup() == group).toList();
+    }
+
+    @Test
+    void wholeGroupDoublesRentOfUnbuiltTiles() {
+        GameState state = new GameState(List.of("A", "B"), 1);
+        Player a = state.getPlayers().get(0);
+        a.addMoney(100_000);
+        List<Tile> group = group(state, 0);
+        OwnershipIndex index = state.getOwnership();
+
+        GameRules.buy(a, group.get(0), state);
+        assertFalse(index.ownsGroup(0, 0));
+        assertEquals(group.size() - 1, index.missingInGroup(0, 0));
+        assertEquals(1, index.getRentMultiplier(group.get(0)));
+
+        for (Tile t : group.subList(1, group.size())) {
+            GameRules.buy(a, t, state);
+        }
+        assertTrue(index.ownsGroup(0, 0));
+        assertEquals(group.size(), index.getPropertyCount(0));
+        assertEquals(OwnershipIndex.GROUP_RENT_MULTIPLIER, index.getRentMultiplier(group.get(0)));
+
+        GameRules.upgrade(a, group.get(0), state);
+        assertEquals(1, index.getRentMultiplier(group.get(0)));
+        int value = group.stream().mapToInt(Tile::getValue).sum();
+        assertEquals(value, index.getPropertyValue(0));
+        assertEquals(a.getMoney() + value, index.getNetWorth(a));
+    }
+
+    @Test
+    void bankruptcyReleasesTilesToTheBank() {
+        GameState state = new GameState(List.of("A", "B", "C"), 2);
+        Player a = state.getPlayers().get(0);
+        Player b = state.getPlayers().get(1);
+        a.addMoney(100_000);
+        List<Tile> group = group(state, 1);
+        for (Tile t : group) {
+            GameRules.buy(a, t, state);
+        }
+        GameRules.upgrade(a, group.get(0), state);
+        Tile other = group(state, 2).get(0);
+        GameRules.buy(b, other, state);
+
+        a.subtractMoney(a.getMoney() + 1);
+
+        OwnershipIndex index = state.getOwnership();
+        assertTrue(a.isBankrupt());
+        for (Tile t : group) {
+            assertNull(t.getOwner());
+            assertEquals(0, t.getLevel());
+            assertFalse(index.owns(0, t.getIndex()));
+        }
+        assertEquals(0, index.getPropertyCount(0));
+        assertEquals(0, index.getPropertyValue(0));
+        assertFalse(index.ownsGroup(0, 1));
+        assertTrue(a.getOwnedProperties().isEmpty());
+        // cizí majetek zůstává
+        assertTrue(index.owns(1, other.getIndex()));
+        assertEquals(1, index.getPropertyCount(1));
+        // průběžný hash odpovídá přepočtu i po uvolnění polí
+        assertEquals(StateHash.of(state), state.getHash().get());
+    }
+}
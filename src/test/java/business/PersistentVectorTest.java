@@ -0,0 +1,60 @@
+package business;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentVectorTest {
+
+    private static List<Integer> range(int n) {
+        return IntStream.range(0, n).boxed().toList();
+    }
+
+    @Test
+    void setKeepsTheOriginalVersion() {
+        // přes 32 * 32 prvků – trie má tři úrovně
+        PersistentVector<Integer> v = PersistentVector.of(range(2000));
+        PersistentVector<Integer> w = v.set(1500, -1).set(0, -2);
+        assertEquals(2000, w.size());
+        assertEquals(1500, v.get(1500));
+        assertEquals(0, v.get(0));
+        assertEquals(-1, w.get(1500));
+        assertEquals(-2, w.get(0));
+        for (int i = 1; i < 2000; i++) {
+            if (i != 1500) assertEquals(i, w.get(i));
+        }
+    }
+
+    @Test
+    void diffReportsExactlyTheChangedIndices() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int size : new int[]{1, 31, 32, 33, 1024, 1025, 5000}) {
+            PersistentVector<Integer> base = PersistentVector.of(range(size));
+            PersistentVector<Integer> changed = base;
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int k = 0; k < 10; k++) {
+                int i = random.nextInt(size);
+                changed = changed.set(i, -i - 1);
+                expected.add(i);
+            }
+            List<Integer> reported = new ArrayList<>();
+            base.diff(changed, reported::add);
+            assertEquals(new ArrayList<>(expected), reported.stream().sorted().toList(), "size " + size);
+        }
+    }
+
+    @Test
+    void diffOfIdenticalVersionsIsEmpty() {
+        PersistentVector<Integer> v = PersistentVector.of(range(100));
+        List<Integer> reported = new ArrayList<>();
+        v.diff(v, reported::add);
+        assertTrue(reported.isEmpty());
+    }
+}
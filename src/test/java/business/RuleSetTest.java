@@ -0,0 +1,114 @@
+package business;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleSetTest {
+
+    // nejmenší platná deska: 8 polí, vězení na poli 2
+    private static List<String> small() {
+        return new ArrayList<>(List.of(
+                "tile | START | START",
+                "tile | NEMOVITOST | A | 100 | 10 | 0",
+                "tile | VEZENI | VĚZENÍ",
+                "tile | NEMOVITOST | B | 120 | 12 | 0",
+                "tile | DAN | DAŇ   # komentář",
+                "tile | NEMOVITOST | C | 140 | 14 | 1",
+                "tile | SANCE | ŠANCE",
+                "tile | NEMOVITOST | D | 160 | 16 | 1",
+                "",
+                "effect | START | GAIN | 300",
+                "effect | DAN | PAY | 50",
+                "effect | SANCE | CARD",
+                "card | MOVE_TO | 0 | 7 | Jdi na D"));
+    }
+
+    private static String errors(List<String> lines) {
+        return assertThrows(IllegalArgumentException.class, () -> RuleSet.parse(lines, "test.rules")).getMessage();
+    }
+
+    @Test
+    void parsesValidRules() {
+        RuleSet rules = RuleSet.parse(small(), "test.rules");
+        assertEquals(8, rules.getBoardSize());
+        assertEquals(2, rules.getGroupCount());
+        assertEquals(RuleSet.TileEffect.GAIN, rules.getEffect(TileType.START));
+        assertEquals(300, rules.getAmount(TileType.START));
+        assertEquals(RuleSet.TileEffect.PAY, rules.getEffect(TileType.DAN));
+        assertEquals(RuleSet.TileEffect.NONE, rules.getEffect(TileType.VEZENI));
+        assertEquals(1, rules.getCards().size());
+        List<Tile> tiles = rules.generateTiles(8);
+        assertEquals("B", tiles.get(3).getName());
+        assertEquals(120, tiles.get(3).getPrice());
+    }
+
+    @Test
+    void reportsAllErrorsWithLineNumbers() {
+        List<String> lines = small();
+        lines.set(1, "tile | NEMOVITOST | A | sto | 10 | 0");
+        lines.set(3, "tile | HRAD | B");
+        lines.set(10, "effect | DAN | PAY");
+        lines.add("bonus | 5");
+        String message = errors(lines);
+        assertTrue(message.contains("test.rules:2: 'sto' není číslo"), message);
+        assertTrue(message.contains("test.rules:4: "), message);
+        assertTrue(message.contains("test.rules:11: čekáno 4 sloupců, je jich 3"), message);
+        assertTrue(message.contains("test.rules:14: neznámý záznam 'bonus'"), message);
+        // dvě vadná pole chybí i v kontrole celé desky
+        assertTrue(message.contains("test.rules: deska musí mít násobek 4 polí, aspoň 8 (má 6)"), message);
+        assertEquals(5, message.lines().count(), message);
+    }
+
+    @Test
+    void validatesTheWholeBoard() {
+        List<String> lines = small();
+        lines.set(2, "tile | PARKOVISTE | P");
+        assertTrue(errors(lines).contains("musí být VEZENI"));
+
+        lines = small();
+        lines.remove(7);
+        assertTrue(errors(lines).contains("násobek 4 polí"));
+
+        lines = small();
+        lines.set(7, "tile | NEMOVITOST | D | 160 | 16 | 3");
+        assertTrue(errors(lines).contains("skupina 2 nemá žádné pole"));
+
+        lines = small();
+        lines.set(12, "card | MOVE_TO | 0 | 8 | Mimo");
+        assertTrue(errors(lines).contains("test.rules:13: cíl karty 8 je mimo desku"));
+
+        lines = small();
+        lines.remove(12);
+        assertTrue(errors(lines).contains("balíček je prázdný"));
+
+        lines = small();
+        lines.add("effect | DAN | PAY | 60");
+        assertTrue(errors(lines).contains("efekt pole DAN už je zadaný"));
+    }
+
+    @Test
+    void hashIdentifiesTheCompiledRules() {
+        RuleSet rules = RuleSet.parse(small(), "a.rules");
+        List<String> commented = small();
+        commented.add(0, "# jen komentář navíc");
+        assertEquals(rules.getHash(), RuleSet.parse(commented, "b.rules").getHash());
+
+        List<String> changed = small();
+        changed.set(10, "effect | DAN | PAY | 51");
+        RuleSet other = RuleSet.parse(changed, "a.rules");
+        assertNotEquals(rules.getHash(), other.getHash());
+
+        assertSame(rules, RuleSet.find("a.rules", rules.getHash()));
+        assertSame(other, RuleSet.find("a.rules", other.getHash()));
+        assertEquals(RuleSet.classic().getHash(), RuleSet.find(RuleSet.CLASSIC_SOURCE, RuleSet.classic().getHash()).getHash());
+        assertThrows(IllegalStateException.class, () -> RuleSet.find("chybí.rules", 42));
+    }
+}
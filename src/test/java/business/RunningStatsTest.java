@@ -0,0 +1,69 @@
+package business;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RunningStatsTest {
+
+    @Test
+    void meanAndVarianceMatchTwoPassComputation() {
+        double[] values = {3, 7, 7, 19, -4, 0.5};
+        RunningStats stats = new RunningStats();
+        for (double v : values) {
+            stats.add(v);
+        }
+        double mean = 0;
+        for (double v : values) {
+            mean += v;
+        }
+        mean /= values.length;
+        double m2 = 0;
+        for (double v : values) {
+            m2 += (v - mean) * (v - mean);
+        }
+        assertEquals(values.length, stats.getCount());
+        assertEquals(mean, stats.getMean(), 1e-12);
+        assertEquals(m2 / (values.length - 1), stats.getVariance(), 1e-12);
+        assertEquals(-4, stats.getMin());
+        assertEquals(19, stats.getMax());
+    }
+
+    @Test
+    void mergeEqualsSequentialAdd() {
+        SplittableRandom random = new SplittableRandom(17);
+        RunningStats all = new RunningStats();
+        RunningStats[] parts = {new RunningStats(), new RunningStats(), new RunningStats()};
+        for (int i = 0; i < 10_000; i++) {
+            double v = random.nextDouble(-50, 150);
+            all.add(v);
+            parts[i % 7 == 0 ? 0 : i % 2 + 1].add(v);
+        }
+        RunningStats merged = new RunningStats();
+        for (RunningStats part : parts) {
+            merged.merge(part);
+        }
+        assertEquals(all.getCount(), merged.getCount());
+        assertEquals(all.getMean(), merged.getMean(), 1e-9);
+        assertEquals(all.getVariance(), merged.getVariance(), 1e-6);
+        assertEquals(all.getMin(), merged.getMin());
+        assertEquals(all.getMax(), merged.getMax());
+    }
+
+    @Test
+    void mergeWithEmptyKeepsValues() {
+        RunningStats stats = new RunningStats();
+        stats.add(2);
+        stats.add(4);
+        stats.merge(new RunningStats());
+        assertEquals(2, stats.getCount());
+        assertEquals(3, stats.getMean(), 1e-12);
+
+        RunningStats empty = new RunningStats();
+        empty.merge(stats);
+        assertEquals(2, empty.getCount());
+        assertEquals(stats.getVariance(), empty.getVariance(), 1e-12);
+    }
+}
@@ -0,0 +1,83 @@
+package business;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class SpectatorFeedTest {
+
+    private static byte[] encode(int value) {
+        ByteBuffer buf = ByteBuffer.allocate(5);
+        SpectatorFeed.putVarInt(buf, value);
+        byte[] bytes = new byte[buf.position()];
+        buf.flip().get(bytes);
+        return bytes;
+    }
+
+    @Test
+    void varIntUsesSevenBitsPerByte() {
+        assertArrayEquals(new byte[]{0}, encode(0));
+        assertArrayEquals(new byte[]{0x7F}, encode(127));
+        assertArrayEquals(new byte[]{(byte) 0x80, 0x01}, encode(128));
+        assertArrayEquals(new byte[]{(byte) 0xAC, 0x02}, encode(300));
+        assertEquals(5, encode(-1).length);
+    }
+
+    @Test
+    void varIntRoundTrip() {
+        int[] values = {0, 1, 127, 128, 16_383, 16_384, 2_097_151, 2_097_152, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        ByteBuffer buf = ByteBuffer.allocate(values.length * 5);
+        for (int v : values) {
+            SpectatorFeed.putVarInt(buf, v);
+        }
+        buf.flip();
+        for (int v : values) {
+            assertEquals(v, SpectatorFeed.getVarInt(buf));
+        }
+        assertFalse(buf.hasRemaining());
+    }
+
+    @Test
+    void zigzagKeepsSmallNegativeNumbersShort() {
+        assertEquals(0, SpectatorFeed.zigzag(0));
+        assertEquals(1, SpectatorFeed.zigzag(-1));
+        assertEquals(2, SpectatorFeed.zigzag(1));
+        assertEquals(3, SpectatorFeed.zigzag(-2));
+        assertEquals(1, encode(SpectatorFeed.zigzag(-50)).length);
+        assertEquals(2, encode(SpectatorFeed.zigzag(-200)).length);
+        for (int v : new int[]{0, 1, -1, 1500, -1500, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            assertEquals(v, SpectatorFeed.unzigzag(SpectatorFeed.zigzag(v)));
+        }
+    }
+
+    @Test
+    void viewerMirrorFollowsTheGameThroughDeltas() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            GameState state = new GameState(List.of("A", "B", "C"), 21);
+            try (SpectatorFeed feed = new SpectatorFeed(state, 0);
+                 SpectatorClient viewer = SpectatorClient.connect(feed.getPort())) {
+                state.addListener(feed);
+                while (feed.getViewerCount() == 0) {
+                    Thread.sleep(1);
+                }
+                new TurnEngine(state, Collections.nCopies(3, DecisionPolicy.ALWAYS_BUY)).playGame(200);
+                feed.flush();
+                while (viewer.getFrame() < feed.getFrameNumber() && viewer.readNext()) {
+                    // dočíst všechny snímky
+                }
+                assertEquals(feed.getFrameNumber(), viewer.getFrame());
+                assertEquals(1, viewer.getSnapshots());
+                assertEquals(0, viewer.getHashMismatches());
+                assertEquals(StateHash.of(state), StateHash.of(viewer.getState()));
+            }
+        });
+    }
+}